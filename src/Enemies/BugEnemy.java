@@ -1,7 +1,8 @@
 package Enemies;
 
 import Builders.FrameBuilder;
-import Engine.ImageLoader;
+import Engine.AssetManifest;
+import GameObject.AnimationRegistry;
 import GameObject.Frame;
 import GameObject.ImageEffect;
 import GameObject.SpriteSheet;
@@ -17,6 +18,9 @@ import java.util.HashMap;
 // enemy behaves like a Mario goomba -- walks forward until it hits a solid map tile, and then turns around
 // if it ends up in the air from walking off a cliff, it will fall down until it hits the ground again, and then will continue walking
 public class BugEnemy extends Enemy {
+    // everything this enemy needs loaded before it can be made (see AssetManifest class)
+    public static final AssetManifest ASSET_MANIFEST = new AssetManifest()
+            .withSpriteSheet("BugEnemy.png", 24, 15);
 
     private float gravity = .5f;
     private float movementSpeed = .5f;
@@ -26,7 +30,7 @@ public class BugEnemy extends Enemy {
     public int BugEnemyXLocation;
 
     public BugEnemy(Point location, Direction facingDirection) {
-        super(location.x, location.y, new SpriteSheet(ImageLoader.load("BugEnemy.png"), 24, 15), "WALK_LEFT");
+        super(location.x, location.y, AnimationRegistry.getSpriteSheet("BugEnemy.png", 24, 15), "WALK_LEFT");
         this.startFacingDirection = facingDirection;
         this.initialize();
     }
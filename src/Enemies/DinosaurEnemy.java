@@ -1,7 +1,10 @@
 package Enemies;
 
 import Builders.FrameBuilder;
-import Engine.ImageLoader;
+import Engine.AssetManifest;
+import Engine.GameClock;
+import Engine.ScheduledTask;
+import GameObject.AnimationRegistry;
 import GameObject.Frame;
 import GameObject.ImageEffect;
 import GameObject.SpriteSheet;
@@ -10,7 +13,6 @@ import Level.Player;
 import Utils.AirGroundState;
 import Utils.Direction;
 import Utils.Point;
-import Utils.Stopwatch;
 
 import java.util.HashMap;
 
@@ -18,6 +20,10 @@ import java.util.HashMap;
 // It walks back and forth between two set points (startLocation and endLocation)
 // Every so often (based on shootTimer) it will shoot a Fireball enemy
 public class DinosaurEnemy extends Enemy {
+    // everything this enemy (including the fireballs it shoots) needs loaded before it can be made (see AssetManifest class)
+    public static final AssetManifest ASSET_MANIFEST = new AssetManifest()
+            .withSpriteSheet("DinosaurEnemy.png", 14, 17)
+            .withManifest(Fireball.ASSET_MANIFEST);
 
     // start and end location defines the two points that it walks between
     // is only made to walk along the x axis and has no air ground state logic, so make sure both points have the same Y value
@@ -30,14 +36,16 @@ public class DinosaurEnemy extends Enemy {
     protected AirGroundState airGroundState;
 
     // timer is used to determine when a fireball is to be shot out
-    protected Stopwatch shootTimer = new Stopwatch();
+    // when it goes off, isShootTimeUp is set to true
+    protected ScheduledTask shootTimer;
+    protected boolean isShootTimeUp;
 
     // can be either WALK or SHOOT based on what the enemy is currently set to do
     protected DinosaurState dinosaurState;
     protected DinosaurState previousDinosaurState;
 
     public DinosaurEnemy(Point startLocation, Point endLocation, Direction facingDirection) {
-        super(startLocation.x, startLocation.y, new SpriteSheet(ImageLoader.load("DinosaurEnemy.png"), 14, 17), "WALK_RIGHT");
+        super(startLocation.x, startLocation.y, AnimationRegistry.getSpriteSheet("DinosaurEnemy.png", 14, 17), "WALK_RIGHT");
         this.startLocation = startLocation;
         this.endLocation = endLocation;
         this.startFacingDirection = facingDirection;
@@ -58,7 +66,16 @@ public class DinosaurEnemy extends Enemy {
         airGroundState = AirGroundState.GROUND;
 
         // every 2 seconds, the fireball will be shot out
-        shootTimer.setWaitTime(2000);
+        startShootTimer(2000);
+    }
+
+    // (re)starts the shoot timer to go off after the specified number of milliseconds
+    protected void startShootTimer(int millisecondsToWait) {
+        if (shootTimer != null) {
+            shootTimer.cancel();
+        }
+        isShootTimeUp = false;
+        shootTimer = GameClock.schedule(millisecondsToWait, () -> isShootTimeUp = true);
     }
 
     @Override
@@ -67,7 +84,7 @@ public class DinosaurEnemy extends Enemy {
         float endBound = endLocation.x;
 
         // if shoot timer is up and dinosaur is not currently shooting, set its state to SHOOT
-        if (shootTimer.isTimeUp() && dinosaurState != DinosaurState.SHOOT) {
+        if (isShootTimeUp && dinosaurState != DinosaurState.SHOOT) {
             dinosaurState = DinosaurState.SHOOT;
         }
 
@@ -100,9 +117,9 @@ public class DinosaurEnemy extends Enemy {
             // then the fireball is actually shot out
         } else if (dinosaurState == DinosaurState.SHOOT) {
             if (previousDinosaurState == DinosaurState.WALK) {
-                shootTimer.setWaitTime(1000);
+                startShootTimer(1000);
                 currentAnimationName = facingDirection == Direction.RIGHT ? "SHOOT_RIGHT" : "SHOOT_LEFT";
-            } else if (shootTimer.isTimeUp()) {
+            } else if (isShootTimeUp) {
 
                 // define where fireball will spawn on map (x location) relative to dinosaur enemy's location
                 // and define its movement speed
@@ -127,7 +144,7 @@ public class DinosaurEnemy extends Enemy {
 
                 // change dinosaur back to its WALK state after shooting, reset shootTimer to wait another 2 seconds before shooting again
                 dinosaurState = DinosaurState.WALK;
-                shootTimer.setWaitTime(2000);
+                startShootTimer(2000);
             }
         }
         previousDinosaurState = dinosaurState;
@@ -1,7 +1,10 @@
 package Enemies;
 
 import Builders.FrameBuilder;
-import Engine.ImageLoader;
+import Engine.AssetManifest;
+import Engine.GameClock;
+import Engine.ScheduledTask;
+import GameObject.AnimationRegistry;
 import GameObject.Frame;
 import GameObject.SpriteSheet;
 import Level.Enemy;
@@ -9,7 +12,6 @@ import Level.MapEntityStatus;
 import Level.Player;
 import Utils.Direction;
 import Utils.Point;
-import Utils.Stopwatch;
 
 import java.util.HashMap;
 
@@ -17,15 +19,20 @@ import java.util.HashMap;
 // it will travel in a straight line (x axis) for a set time before disappearing
 // it will disappear early if it collides with a solid map tile
 public class Fireball extends Enemy {
+    // everything this enemy needs loaded before it can be made (see AssetManifest class)
+    public static final AssetManifest ASSET_MANIFEST = new AssetManifest()
+            .withSpriteSheet("Fireball.png", 7, 7);
+
     private float movementSpeed;
-    private Stopwatch existenceTimer = new Stopwatch();
+    private ScheduledTask existenceTimer;
 
     public Fireball(Point location, float movementSpeed, int existenceTime) {
-        super(location.x, location.y, new SpriteSheet(ImageLoader.load("Fireball.png"), 7, 7), "DEFAULT");
+        super(location.x, location.y, AnimationRegistry.getSpriteSheet("Fireball.png", 7, 7), "DEFAULT");
         this.movementSpeed = movementSpeed;
 
         // how long the fireball will exist for before disappearing
-        existenceTimer.setWaitTime(existenceTime);
+        // once time is up, map entity status is set to REMOVED, and the camera class will see this next frame and remove it permanently from the map
+        existenceTimer = GameClock.schedule(existenceTime, () -> this.mapEntityStatus = MapEntityStatus.REMOVED);
 
         // this enemy will not respawn after it has been removed
         isRespawnable = false;
@@ -35,22 +42,22 @@ public class Fireball extends Enemy {
 
     @Override
     public void update(Player player) {
-        // if timer is up, set map entity status to REMOVED
-        // the camera class will see this next frame and remove it permanently from the map
-        if (existenceTimer.isTimeUp()) {
-            this.mapEntityStatus = MapEntityStatus.REMOVED;
-        } else {
-            // move fireball forward
-            moveXHandleCollision(movementSpeed);
-            super.update(player);
-        }
+        // move fireball forward
+        moveXHandleCollision(movementSpeed);
+        super.update(player);
+    }
+
+    // removes fireball from the map early, no need to wait on the existence timer anymore
+    private void remove() {
+        this.mapEntityStatus = MapEntityStatus.REMOVED;
+        existenceTimer.cancel();
     }
 
     @Override
     public void onEndCollisionCheckX(boolean hasCollided, Direction direction) {
         // if fireball collides with anything solid on the x axis, it is removed
         if (hasCollided) {
-            this.mapEntityStatus = MapEntityStatus.REMOVED;
+            remove();
         }
     }
 
@@ -58,7 +65,7 @@ public class Fireball extends Enemy {
     public void touchedPlayer(Player player) {
         // if fireball touches player, it disappears
         super.touchedPlayer(player);
-        this.mapEntityStatus = MapEntityStatus.REMOVED;
+        remove();
     }
 
     @Override
@@ -0,0 +1,164 @@
+package Engine;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+
+/*
+ * Saves images that have already had their transparent color applied to Config.BAKED_ASSETS_PATH,
+ * so the next time the game starts they can be read straight into an ARGB image instead of being decoded from a PNG and having their transparency worked out again
+ * Baked images are named after a hash of the original image file's contents along with its transparent color,
+ * so if an image file changes, its old baked image is simply never looked at again and a new one gets baked the next time it's loaded
+ * Images are baked the first time they are loaded, or all at once ahead of time with the BakeAssets program in the Game package
+ * Scaled and flipped copies of sprites aren't baked, since the SpriteVariantCache makes those from each sprite the first time it's drawn
+ *
+ * A baked image file is a small header (magic number, version, width, height) followed by every pixel as a 4 byte ARGB int, deflate compressed
+ * Sprite sheets are mostly runs of fully transparent pixels, so they compress really well and inflating them is much faster than decoding a PNG
+ */
+public class AssetBaker {
+    // "HSBA" -- used to make sure a baked image file is actually a baked image
+    private static final int MAGIC_NUMBER = 0x48534241;
+
+    // should be bumped whenever the way images are processed or the file layout changes, so old baked images aren't used
+    private static final int BAKE_VERSION = 2;
+
+    private static final int HEADER_SIZE = 16;
+
+    // prevents AssetBaker from being instantiated -- it's my way of making a "static" class like C# has
+    private AssetBaker() { }
+
+    // loads an image with its transparent color applied, from its baked image if there is an up to date one, otherwise from the image file (and bakes it)
+    public static BufferedImage load(String imageFileName, Color transparentColor) {
+        ByteBuffer fileContents = readSourceFile(Config.RESOURCES_PATH + imageFileName);
+        Path bakedFile = getBakedFile(fileContents, transparentColor);
+
+        if (Files.exists(bakedFile)) {
+            BufferedImage image = readBakedImage(bakedFile);
+            if (image != null) {
+                return image;
+            }
+        }
+
+        BufferedImage image = ImageLoader.convertFromFile(imageFileName, transparentColor);
+        writeBakedImage(bakedFile, image);
+        return image;
+    }
+
+    // bakes an image (if it isn't already baked) and returns if it had to be baked
+    public static boolean bake(String imageFileName, Color transparentColor) {
+        ByteBuffer fileContents = readSourceFile(Config.RESOURCES_PATH + imageFileName);
+        if (Files.exists(getBakedFile(fileContents, transparentColor))) {
+            return false;
+        }
+        load(imageFileName, transparentColor);
+        return true;
+    }
+
+    // the baked image file for an image file with these contents and this transparent color
+    private static Path getBakedFile(ByteBuffer fileContents, Color transparentColor) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            digest.update(fileContents.duplicate());
+            digest.update(ByteBuffer.allocate(8).putInt(BAKE_VERSION).putInt(transparentColor.getRGB()).array());
+
+            StringBuilder name = new StringBuilder();
+            for (byte b : digest.digest()) {
+                name.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return Paths.get(Config.BAKED_ASSETS_PATH, name + ".argb");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    // reads a baked image, returns null if the file isn't a valid baked image so it can just be baked again
+    private static BufferedImage readBakedImage(Path bakedFile) {
+        ByteBuffer data;
+        try {
+            data = ByteBuffer.wrap(Files.readAllBytes(bakedFile));
+        } catch (IOException e) {
+            return null;
+        }
+        if (data.remaining() < HEADER_SIZE || data.getInt() != MAGIC_NUMBER || data.getInt() != BAKE_VERSION) {
+            return null;
+        }
+        int width = data.getInt();
+        int height = data.getInt();
+        if (width <= 0 || height <= 0 || (long)width * height * 4 > Integer.MAX_VALUE) {
+            return null;
+        }
+
+        byte[] pixelData = new byte[width * height * 4];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data.array(), data.position(), data.remaining());
+            if (inflater.inflate(pixelData) != pixelData.length || !inflater.finished()) {
+                return null;
+            }
+        } catch (DataFormatException e) {
+            return null;
+        } finally {
+            inflater.end();
+        }
+
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        ByteBuffer.wrap(pixelData).asIntBuffer().get(((DataBufferInt)image.getRaster().getDataBuffer()).getData());
+        return image;
+    }
+
+    // writes to a temporary file first and then moves it into place, so a half written baked image is never read
+    // failing to bake isn't a problem for the game (the image just gets loaded the slow way next time too), so it's only reported
+    private static void writeBakedImage(Path bakedFile, BufferedImage image) {
+        int[] pixels = image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+        ByteBuffer pixelData = ByteBuffer.allocate(pixels.length * 4);
+        pixelData.asIntBuffer().put(pixels);
+
+        // fastest compression level, since most of the savings come from the long transparent runs anyways
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        data.write(ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC_NUMBER).putInt(BAKE_VERSION).putInt(image.getWidth()).putInt(image.getHeight()).array(), 0, HEADER_SIZE);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (DeflaterOutputStream compressedData = new DeflaterOutputStream(data, deflater)) {
+            compressedData.write(pixelData.array());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } finally {
+            deflater.end();
+        }
+
+        try {
+            Files.createDirectories(bakedFile.getParent());
+            Path tempFile = Files.createTempFile(bakedFile.getParent(), "baking", ".tmp");
+            Files.write(tempFile, data.toByteArray());
+            Files.move(tempFile, bakedFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.out.println("Unable to bake image to " + bakedFile + ": " + e.getMessage());
+        }
+    }
+
+    // the original image file's contents, read from the AssetPack if it's in there (without copying it) or from its loose file
+    private static ByteBuffer readSourceFile(String path) {
+        ByteBuffer packedFile = AssetPack.getSlice(path);
+        if (packedFile != null) {
+            return packedFile;
+        }
+        try {
+            return ByteBuffer.wrap(Files.readAllBytes(Paths.get(path)));
+        } catch (IOException e) {
+            System.out.println("Unable to find file " + path);
+            throw new RuntimeException(e);
+        }
+    }
+}
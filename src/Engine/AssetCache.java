@@ -0,0 +1,206 @@
+package Engine;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Holds on to images after they are loaded so the same image file isn't read from disk and filtered for transparency over and over again
+ * Images are looked up by their file name along with their transparent color, since the same file with a different transparent color is a different image
+ * The cache is shared by every thread, and images in it are shared by everyone that loads them, so images loaded through it should never be drawn on or changed
+ *
+ * Something that wants to make sure an image stays loaded (like a screen that will be drawing it every frame) can acquire it, and release it once it's done with it
+ * If the cache grows past Config.ASSET_CACHE_MEMORY_BUDGET, the least recently used images that aren't acquired by anything are removed from the cache
+ * Removing an image from the cache doesn't affect anything already using it, it just means it will be loaded from disk again the next time it is asked for
+ * Sprite sheet images that were packed into the TextureAtlas are never removed (the atlas holds on to them anyways), so loading one again never makes a copy that would be packed a second time
+ */
+public class AssetCache {
+
+    // a loaded image along with how many things currently have it acquired
+    private static class Entry {
+        private final BufferedImage image;
+        private final Color transparentColor;
+        private final long sizeInBytes;
+        private int referenceCount;
+
+        private Entry(BufferedImage image, Color transparentColor) {
+            this.image = image;
+            this.transparentColor = transparentColor;
+            // images are loaded as 4 byte ARGB pixels
+            this.sizeInBytes = (long)image.getWidth() * image.getHeight() * 4;
+        }
+    }
+
+    // access ordered, so iterating goes from least recently used to most recently used
+    private static final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+
+    // total size of every image in the cache
+    private static long sizeInBytes;
+
+    private static long hitCount, missCount, evictionCount;
+
+    // prevents AssetCache from being instantiated -- it's my way of making a "static" class like C# has
+    private AssetCache() { }
+
+    // returns the image for the given file and transparent color, loading it if it isn't in the cache
+    public static BufferedImage get(String imageFileName, Color transparentColor) {
+        return getEntry(imageFileName, transparentColor, false).image;
+    }
+
+    // same as get, but the image won't be removed from the cache until it is released
+    // every acquire should have a matching release
+    public static BufferedImage acquire(String imageFileName, Color transparentColor) {
+        return getEntry(imageFileName, transparentColor, true).image;
+    }
+
+    // lets go of an image that was acquired, so it can be removed from the cache again if memory is needed
+    public static synchronized void release(String imageFileName, Color transparentColor) {
+        Entry entry = entries.get(getKey(imageFileName, transparentColor));
+        if (entry == null || entry.referenceCount == 0) {
+            throw new RuntimeException("Image " + imageFileName + " was released more times than it was acquired");
+        }
+        entry.referenceCount--;
+        evictIfOverBudget();
+    }
+
+    private static Entry getEntry(String imageFileName, Color transparentColor, boolean acquire) {
+        String key = getKey(imageFileName, transparentColor);
+        synchronized (AssetCache.class) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                hitCount++;
+                if (acquire) {
+                    entry.referenceCount++;
+                }
+                return entry;
+            }
+        }
+
+        // image is loaded outside of the lock so other threads can keep using the cache while the file is read
+        Entry loadedEntry = new Entry(ImageLoader.loadFromFile(imageFileName, transparentColor), transparentColor);
+
+        synchronized (AssetCache.class) {
+            missCount++;
+
+            // another thread may have loaded the same image in the meantime, in which case theirs is used so everyone shares the same one
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                entry = loadedEntry;
+                entries.put(key, entry);
+                sizeInBytes += entry.sizeInBytes;
+            }
+            if (acquire) {
+                entry.referenceCount++;
+            }
+            evictIfOverBudget();
+            return entry;
+        }
+    }
+
+    // removes the least recently used images that aren't acquired (or packed into the TextureAtlas) until the cache is back under its memory budget
+    private static void evictIfOverBudget() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (sizeInBytes > Config.ASSET_CACHE_MEMORY_BUDGET && iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.referenceCount == 0 && !TextureAtlas.containsImage(entry.image)) {
+                iterator.remove();
+                sizeInBytes -= entry.sizeInBytes;
+                evictionCount++;
+            }
+        }
+    }
+
+    // reads an image file from disk again after it was changed, for every transparent color it's in the cache with (used by the AssetHotReloader)
+    // the new pixels are copied into the image already in the cache, so everything already using it (sprite sheets, animation frames, map tiles) shows the change right away
+    // if the image changed size it can't be updated in place, so it's replaced in the cache instead and only things that load it after this will see the change
+    // images that were updated in place are added to updatedImages, and the number of images that had to be replaced is returned
+    static int reload(String imageFileName, List<BufferedImage> updatedImages) {
+        List<String> keys = new ArrayList<>();
+        List<Entry> oldEntries = new ArrayList<>();
+        synchronized (AssetCache.class) {
+            for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                if (entry.getKey().startsWith(imageFileName + "#")) {
+                    keys.add(entry.getKey());
+                    oldEntries.add(entry.getValue());
+                }
+            }
+        }
+
+        int replacedCount = 0;
+        for (int i = 0; i < keys.size(); i++) {
+            Entry oldEntry = oldEntries.get(i);
+            BufferedImage newImage = ImageLoader.loadFromFile(imageFileName, oldEntry.transparentColor);
+            if (newImage.getWidth() == oldEntry.image.getWidth() && newImage.getHeight() == oldEntry.image.getHeight()) {
+                Graphics2D g = oldEntry.image.createGraphics();
+                g.setComposite(AlphaComposite.Src);
+                g.drawImage(newImage, 0, 0, null);
+                g.dispose();
+                updatedImages.add(oldEntry.image);
+            } else {
+                synchronized (AssetCache.class) {
+                    // whoever had the old image acquired still has to release it, so the new entry takes over its reference count
+                    // the old image's sprites are left in the TextureAtlas, since whoever has it is still drawing them
+                    Entry newEntry = new Entry(newImage, oldEntry.transparentColor);
+                    newEntry.referenceCount = oldEntry.referenceCount;
+                    if (entries.remove(keys.get(i)) != null) {
+                        sizeInBytes -= oldEntry.sizeInBytes;
+                    }
+                    entries.put(keys.get(i), newEntry);
+                    sizeInBytes += newEntry.sizeInBytes;
+                }
+                replacedCount++;
+            }
+        }
+        return replacedCount;
+    }
+
+    // removes every image from the cache that isn't acquired (or packed into the TextureAtlas)
+    public static synchronized void clear() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.referenceCount == 0 && !TextureAtlas.containsImage(entry.image)) {
+                iterator.remove();
+                sizeInBytes -= entry.sizeInBytes;
+            }
+        }
+    }
+
+    private static String getKey(String imageFileName, Color transparentColor) {
+        return imageFileName + "#" + Integer.toHexString(transparentColor.getRGB());
+    }
+
+    public static synchronized int getSize() {
+        return entries.size();
+    }
+
+    public static synchronized long getSizeInBytes() {
+        return sizeInBytes;
+    }
+
+    // number of times an image was asked for and was already in the cache
+    public static synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    // number of times an image was asked for and had to be loaded from disk
+    public static synchronized long getMissCount() {
+        return missCount;
+    }
+
+    // number of images that have been removed from the cache to stay under the memory budget
+    public static synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public static synchronized String getStats() {
+        long requestCount = hitCount + missCount;
+        return String.format("%d images (%.1f MB) -- %d hits, %d misses (%.1f%% hit rate), %d evictions",
+                entries.size(), sizeInBytes / (1024.0 * 1024.0), hitCount, missCount,
+                requestCount == 0 ? 0.0 : 100.0 * hitCount / requestCount, evictionCount);
+    }
+}
@@ -0,0 +1,197 @@
+package Engine;
+
+import GameObject.AnimationRegistry;
+import Level.Map;
+import Level.MapChunkStreamer;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/*
+ * Watches the resources and map files folders while the game is running, so art and maps can be worked on without restarting the game
+ * It's only for development, and only runs if the game is started with the --hot-reload argument (see Game class)
+ * Assets have to be read from their loose files for this to work, so the AssetPack is turned off when it starts
+ *
+ * Watching is done on its own background thread, which only notes down which files changed -- the changes are applied at the start of an update cycle (see GameController class),
+ * so nothing is changed in the middle of the game updating or drawing
+ * A changed image has its new pixels copied into the image that's already loaded (see AssetCache.reload), so every sprite sheet, animation frame, and map tile already using it shows the change without being remade
+ * A changed map file only has the map tiles that are different swapped out, in every map that's using it (see Map.reloadMapFile)
+ */
+public class AssetHotReloader {
+    // maps that have been made while watching, so they can be updated when their map file changes
+    // weak, so a map that isn't used anymore can still be garbage collected
+    private static final Set<Map> maps = Collections.newSetFromMap(new WeakHashMap<>());
+
+    // files that changed (as a path from the game's folder, e.g. "Resources/Cat.png") along with when they last changed, waiting to be applied
+    private static final HashMap<String, Long> pendingChanges = new HashMap<>();
+
+    private static volatile boolean isRunning;
+
+    // prevents AssetHotReloader from being instantiated -- it's my way of making a "static" class like C# has
+    private AssetHotReloader() { }
+
+    // starts watching the resources and map files folders for changes
+    // has to be called before anything is loaded, since it turns the AssetPack (and map streaming) off
+    public static synchronized void start() {
+        if (isRunning) {
+            return;
+        }
+        AssetPack.setEnabled(false);
+        // maps are reloaded by reading their whole map file again, so they're never streamed while watching
+        MapChunkStreamer.setEnabled(false);
+
+        HashMap<WatchKey, String> folders = new HashMap<>();
+        WatchService watchService;
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            for (String folder : new String[] { Config.RESOURCES_PATH, Config.MAP_FILES_PATH }) {
+                WatchKey watchKey = Paths.get(folder).register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+                folders.put(watchKey, folder);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        Thread watchThread = new Thread(() -> watch(watchService, folders), "Asset Hot Reloader");
+        watchThread.setDaemon(true);
+        watchThread.start();
+        isRunning = true;
+        System.out.println("Watching " + Config.RESOURCES_PATH + " and " + Config.MAP_FILES_PATH + " for changes");
+    }
+
+    public static boolean isRunning() {
+        return isRunning;
+    }
+
+    // notes down every file that changes in the watched folders, runs on the watch thread until the game closes
+    private static void watch(WatchService watchService, HashMap<WatchKey, String> folders) {
+        while (true) {
+            WatchKey watchKey;
+            try {
+                watchKey = watchService.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            String folder = folders.get(watchKey);
+            for (WatchEvent<?> event : watchKey.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    continue;
+                }
+                String path = folder + ((Path)event.context()).getFileName();
+                // temporary files are written and then moved into place (e.g. when the map editor saves a map file), only the file they're moved to matters
+                if (path.endsWith(".tmp")) {
+                    continue;
+                }
+                synchronized (AssetHotReloader.class) {
+                    pendingChanges.put(path, System.nanoTime());
+                }
+            }
+            watchKey.reset();
+        }
+    }
+
+    // lets a map be updated when its map file changes, called by every map when it's made
+    public static void addMap(Map map) {
+        if (isRunning) {
+            synchronized (AssetHotReloader.class) {
+                maps.add(map);
+            }
+        }
+    }
+
+    // applies every change that hasn't changed again for Config.ASSET_HOT_RELOAD_DELAY milliseconds,
+    // since saving a file usually shows up as a few changes in a row (and the file may not be done being written at the first one)
+    // called at the start of every update cycle
+    public static void applyChanges() {
+        if (!isRunning) {
+            return;
+        }
+
+        List<String> changedPaths = new ArrayList<>();
+        List<Map> liveMaps;
+        synchronized (AssetHotReloader.class) {
+            if (pendingChanges.isEmpty()) {
+                return;
+            }
+            long settleTime = System.nanoTime() - Config.ASSET_HOT_RELOAD_DELAY * 1000000L;
+            Iterator<java.util.Map.Entry<String, Long>> iterator = pendingChanges.entrySet().iterator();
+            while (iterator.hasNext()) {
+                java.util.Map.Entry<String, Long> pendingChange = iterator.next();
+                if (pendingChange.getValue() <= settleTime) {
+                    changedPaths.add(pendingChange.getKey());
+                    iterator.remove();
+                }
+            }
+            liveMaps = new ArrayList<>(maps);
+        }
+
+        for (String path : changedPaths) {
+            long startTime = System.nanoTime();
+            try {
+                if (path.startsWith(Config.RESOURCES_PATH)) {
+                    reloadImage(path.substring(Config.RESOURCES_PATH.length()), liveMaps);
+                } else {
+                    reloadMapFile(path, liveMaps);
+                }
+                System.out.println(String.format("Hot reloaded %s in %.1f ms", path, (System.nanoTime() - startTime) / 1000000.0));
+            } catch (RuntimeException e) {
+                // most likely the file was still being written, in which case it will change again and be retried then
+                System.out.println("Unable to hot reload " + path + ": " + e.getMessage());
+            }
+        }
+    }
+
+    // reloads an image that's already been loaded (an image that hasn't been loaded yet doesn't need anything done, it'll just be read from disk when it's first used)
+    // the image is only baked again if it's actually loaded, since baked images are looked up by the contents of their file
+    private static void reloadImage(String imageFileName, List<Map> liveMaps) {
+        List<BufferedImage> updatedImages = new ArrayList<>();
+        int replacedCount = AssetCache.reload(imageFileName, updatedImages);
+        for (BufferedImage image : updatedImages) {
+            TextureAtlas.refreshSpriteSheet(image);
+            VolatileImageCache.refresh(image);
+        }
+
+        // scaled and flipped copies of the old image could have come from any sprite of it, so they're all made again as they're drawn
+        if (!updatedImages.isEmpty() || replacedCount > 0) {
+            SpriteVariantCache.clear();
+
+            // tiles already drawn into a map's chunks were drawn with the old image
+            for (Map map : liveMaps) {
+                map.getMapChunkCache().clear();
+            }
+        }
+
+        // an image that changed size couldn't be updated in place, so sprite sheets made from the old one are let go of to make sure anything made from now on uses the new one
+        if (replacedCount > 0) {
+            AnimationRegistry.clear();
+            System.out.println(imageFileName + " changed size, the level has to be restarted to see it");
+        }
+    }
+
+    // reloads every map using a map file
+    private static void reloadMapFile(String path, List<Map> liveMaps) {
+        // a copy of the file that was preloaded before it changed would be out of date
+        AssetPreloader.takePreloadedFile(path);
+
+        for (Map map : liveMaps) {
+            if (path.equals(Config.MAP_FILES_PATH + map.getMapFileName())) {
+                int changedRowCount = map.reloadMapFile();
+                System.out.println("Swapped out tiles in " + changedRowCount + " rows of " + map.getClass().getSimpleName());
+            }
+        }
+    }
+}
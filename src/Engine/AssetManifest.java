@@ -0,0 +1,123 @@
+package Engine;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+
+/*
+ * A list of every asset something needs loaded before it can be used -- sprite sheets, plain images, audio files and map files
+ * Each Map subclass (and each entity used in maps) has one, which lets the AssetPreloader load everything a level needs on background threads before the level is made
+ * Manifests can include other manifests (e.g. a map includes the manifests of the enemies in it), and an asset listed more than once is only loaded once
+ */
+public class AssetManifest {
+
+    // an image to load, along with how it is split up into sprites if it's a sprite sheet (sprite width and height are 0 for plain images)
+    public static class ImageAsset {
+        private final String imageFileName;
+        private final Color transparentColor;
+        private final int spriteWidth, spriteHeight;
+
+        private ImageAsset(String imageFileName, Color transparentColor, int spriteWidth, int spriteHeight) {
+            this.imageFileName = imageFileName;
+            this.transparentColor = transparentColor;
+            this.spriteWidth = spriteWidth;
+            this.spriteHeight = spriteHeight;
+        }
+
+        public String getImageFileName() {
+            return imageFileName;
+        }
+
+        public Color getTransparentColor() {
+            return transparentColor;
+        }
+
+        public boolean isSpriteSheet() {
+            return spriteWidth > 0 && spriteHeight > 0;
+        }
+
+        public int getSpriteWidth() {
+            return spriteWidth;
+        }
+
+        public int getSpriteHeight() {
+            return spriteHeight;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof ImageAsset)) {
+                return false;
+            }
+            ImageAsset imageAsset = (ImageAsset)other;
+            return imageFileName.equals(imageAsset.imageFileName) && transparentColor.equals(imageAsset.transparentColor)
+                    && spriteWidth == imageAsset.spriteWidth && spriteHeight == imageAsset.spriteHeight;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(imageFileName, transparentColor, spriteWidth, spriteHeight);
+        }
+    }
+
+    private final LinkedHashSet<ImageAsset> images = new LinkedHashSet<>();
+    private final LinkedHashSet<String> audioFileNames = new LinkedHashSet<>();
+    private final LinkedHashSet<String> mapFileNames = new LinkedHashSet<>();
+
+    // a sprite sheet in the Resources folder using the transparent color defined in the Config class (tilesets are sprite sheets too)
+    public AssetManifest withSpriteSheet(String imageFileName, int spriteWidth, int spriteHeight) {
+        return withSpriteSheet(imageFileName, Config.TRANSPARENT_COLOR, spriteWidth, spriteHeight);
+    }
+
+    public AssetManifest withSpriteSheet(String imageFileName, Color transparentColor, int spriteWidth, int spriteHeight) {
+        images.add(new ImageAsset(imageFileName, transparentColor, spriteWidth, spriteHeight));
+        return this;
+    }
+
+    // an image in the Resources folder that isn't split up into sprites
+    public AssetManifest withImage(String imageFileName) {
+        return withImage(imageFileName, Config.TRANSPARENT_COLOR);
+    }
+
+    public AssetManifest withImage(String imageFileName, Color transparentColor) {
+        images.add(new ImageAsset(imageFileName, transparentColor, 0, 0));
+        return this;
+    }
+
+    // an audio file, named the same way it's passed to Audio.playMusic
+    public AssetManifest withAudio(String audioFileName) {
+        audioFileNames.add(audioFileName);
+        return this;
+    }
+
+    // a map file in the MapFiles folder
+    public AssetManifest withMapFile(String mapFileName) {
+        mapFileNames.add(mapFileName);
+        return this;
+    }
+
+    // everything listed in another manifest
+    public AssetManifest withManifest(AssetManifest assetManifest) {
+        images.addAll(assetManifest.images);
+        audioFileNames.addAll(assetManifest.audioFileNames);
+        mapFileNames.addAll(assetManifest.mapFileNames);
+        return this;
+    }
+
+    public ArrayList<ImageAsset> getImages() {
+        return new ArrayList<>(images);
+    }
+
+    public ArrayList<String> getAudioFileNames() {
+        return new ArrayList<>(audioFileNames);
+    }
+
+    public ArrayList<String> getMapFileNames() {
+        return new ArrayList<>(mapFileNames);
+    }
+
+    public int getAssetCount() {
+        return images.size() + audioFileNames.size() + mapFileNames.size();
+    }
+}
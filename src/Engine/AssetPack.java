@@ -0,0 +1,221 @@
+package Engine;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+
+/*
+ * Every asset file (images, map files, audio) packed together into one file at Config.ASSET_PACK_PATH, made by the BuildAssetPack program in the Game package
+ * The pack is opened once and memory mapped, and assets are read straight out of the mapped file as slices of it -- nothing is copied until whatever is reading the asset asks for the bytes
+ * Assets are looked up by the same path they'd have as loose files (e.g. "Resources/Cat.png"), so anything that isn't in the pack (or if there's no pack at all) is just read from its loose file instead
+ *
+ * A pack file is a header (magic number, version, number of assets), then an index of every asset's path along with where its data is in the file, then every asset's data back to back
+ * The pack isn't rebuilt automatically, so BuildAssetPack has to be run again after an asset changes (or the pack deleted) for the change to show up in game
+ */
+public class AssetPack {
+    // "HSBP" -- used to make sure a pack file is actually a pack file
+    private static final int MAGIC_NUMBER = 0x48534250;
+
+    // should be bumped whenever the file layout changes
+    private static final int PACK_VERSION = 1;
+
+    // where an asset's data is in the pack file
+    private static class Entry {
+        private final int offset, length;
+
+        private Entry(int offset, int length) {
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
+    private static boolean isEnabled = Config.USE_ASSET_PACK;
+
+    // the whole pack file mapped into memory, null if there is no pack (or it hasn't been opened yet)
+    // its position and limit are never changed once it's opened, every read works on its own duplicate of it
+    private static MappedByteBuffer packData;
+    private static final HashMap<String, Entry> index = new HashMap<>();
+    private static boolean isOpened;
+
+    // prevents AssetPack from being instantiated -- it's my way of making a "static" class like C# has
+    private AssetPack() { }
+
+    // lets the pack be turned off for programs that work on the loose files directly (like the map editor)
+    // has to be called before anything is loaded
+    public static synchronized void setEnabled(boolean enabled) {
+        isEnabled = enabled;
+    }
+
+    // returns if the asset at this path is in the pack
+    public static boolean contains(String path) {
+        return getEntry(path) != null;
+    }
+
+    // returns the asset at this path as a read only slice of the mapped pack file, or null if it isn't in the pack
+    public static ByteBuffer getSlice(String path) {
+        Entry entry = getEntry(path);
+        if (entry == null) {
+            return null;
+        }
+        ByteBuffer slice = packData.duplicate();
+        slice.position(entry.offset);
+        slice.limit(entry.offset + entry.length);
+        return slice.slice().asReadOnlyBuffer();
+    }
+
+    // returns a stream that reads the asset at this path out of the mapped pack file, or null if it isn't in the pack
+    public static InputStream openStream(String path) {
+        ByteBuffer slice = getSlice(path);
+        return slice != null ? new SliceInputStream(slice) : null;
+    }
+
+    private static synchronized Entry getEntry(String path) {
+        if (!isOpened) {
+            open();
+        }
+        return packData != null ? index.get(path.replace('\\', '/')) : null;
+    }
+
+    // maps the pack file and reads its index, if there is a pack file and the pack is enabled
+    // a pack that can't be read is reported and ignored, so assets are read from their loose files instead
+    private static void open() {
+        isOpened = true;
+        Path packFile = Paths.get(Config.ASSET_PACK_PATH);
+        if (!isEnabled || !Files.exists(packFile)) {
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(packFile, StandardOpenOption.READ)) {
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (data.getInt() != MAGIC_NUMBER || data.getInt() != PACK_VERSION) {
+                System.out.println("Asset pack " + packFile + " is not a valid asset pack, using loose asset files instead");
+                return;
+            }
+            int entryCount = data.getInt();
+            for (int i = 0; i < entryCount; i++) {
+                byte[] name = new byte[data.getShort() & 0xFFFF];
+                data.get(name);
+                index.put(new String(name, StandardCharsets.UTF_8), new Entry(data.getInt(), data.getInt()));
+            }
+            data.position(0);
+            packData = data;
+        } catch (IOException | RuntimeException e) {
+            index.clear();
+            System.out.println("Unable to read asset pack " + packFile + ", using loose asset files instead: " + e.getMessage());
+        }
+    }
+
+    // packs the given asset files (paths relative to the game's folder) into a pack file
+    // writes to a temporary file first and then moves it into place, so a game that's running never sees a half written pack
+    public static void write(Path packFile, List<String> paths) {
+        try {
+            // the index is worked out first, since the data offsets depend on how big it is
+            ByteArrayOutputStream indexData = new ByteArrayOutputStream();
+            DataOutputStream indexOutput = new DataOutputStream(indexData);
+            int headerSize = 12;
+            for (String path : paths) {
+                headerSize += 2 + path.replace('\\', '/').getBytes(StandardCharsets.UTF_8).length + 8;
+            }
+            long offset = headerSize;
+            indexOutput.writeInt(MAGIC_NUMBER);
+            indexOutput.writeInt(PACK_VERSION);
+            indexOutput.writeInt(paths.size());
+            for (String path : paths) {
+                long length = Files.size(Paths.get(path));
+                if (offset + length > Integer.MAX_VALUE) {
+                    throw new RuntimeException("Asset pack can't be bigger than 2GB");
+                }
+                byte[] name = path.replace('\\', '/').getBytes(StandardCharsets.UTF_8);
+                indexOutput.writeShort(name.length);
+                indexOutput.write(name);
+                indexOutput.writeInt((int)offset);
+                indexOutput.writeInt((int)length);
+                offset += length;
+            }
+            indexOutput.flush();
+
+            Path tempFile = packFile.resolveSibling(packFile.getFileName() + ".tmp");
+            try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                channel.write(ByteBuffer.wrap(indexData.toByteArray()));
+                for (String path : paths) {
+                    try (FileChannel assetChannel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+                        long position = 0, size = assetChannel.size();
+                        while (position < size) {
+                            position += assetChannel.transferTo(position, size - position, channel);
+                        }
+                    }
+                }
+            }
+            Files.move(tempFile, packFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    // reads a slice of the pack like a file, supports mark/reset since audio files need it to figure out their format
+    private static class SliceInputStream extends InputStream {
+        private final ByteBuffer slice;
+        private int markPosition;
+
+        private SliceInputStream(ByteBuffer slice) {
+            this.slice = slice;
+        }
+
+        @Override
+        public int read() {
+            return slice.hasRemaining() ? slice.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!slice.hasRemaining()) {
+                return -1;
+            }
+            int readLength = Math.min(length, slice.remaining());
+            slice.get(bytes, offset, readLength);
+            return readLength;
+        }
+
+        @Override
+        public long skip(long n) {
+            int skipLength = (int)Math.max(0, Math.min(n, slice.remaining()));
+            slice.position(slice.position() + skipLength);
+            return skipLength;
+        }
+
+        @Override
+        public int available() {
+            return slice.remaining();
+        }
+
+        @Override
+        public boolean markSupported() {
+            return true;
+        }
+
+        @Override
+        public synchronized void mark(int readLimit) {
+            markPosition = slice.position();
+        }
+
+        @Override
+        public synchronized void reset() {
+            slice.position(markPosition);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package Engine;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/*
+ * Loads everything in an AssetManifest in parallel on a pool of background threads, so the game thread doesn't freeze while a level's assets are read from disk
+ * Images go into the AssetCache (and sprite sheets into the TextureAtlas), audio files are kept in memory by the Audio class,
+ * and map files are read into memory here until the Map that uses them takes them
+ * Nothing here touches game state, so the game keeps updating (and a loading screen keeps animating) while assets load
+ */
+public class AssetPreloader {
+    // shared by every AssetPreloader, started the first time something is preloaded
+    // threads are daemon threads so they never keep the game from closing
+    private static ExecutorService workers;
+
+    // map files that have been read in ahead of time, keyed by their path
+    private static final ConcurrentHashMap<String, byte[]> preloadedFiles = new ConcurrentHashMap<>();
+
+    private final AssetManifest assetManifest;
+    private final CountDownLatch assetsLeft;
+    private final AtomicInteger loadedAssetCount = new AtomicInteger();
+
+    // the first thing that went wrong while loading, if anything did
+    private final AtomicReference<Throwable> error = new AtomicReference<>();
+
+    // set once nothing is going to take this manifest's preloaded files anymore (see discardPreloadedFiles)
+    private volatile boolean isDiscarded;
+
+    public AssetPreloader(AssetManifest assetManifest) {
+        this.assetManifest = assetManifest;
+        this.assetsLeft = new CountDownLatch(assetManifest.getAssetCount());
+    }
+
+    // starts loading every asset in the manifest in the background
+    public void start() {
+        for (AssetManifest.ImageAsset imageAsset : assetManifest.getImages()) {
+            submit(() -> loadImage(imageAsset));
+        }
+        for (String audioFileName : assetManifest.getAudioFileNames()) {
+            submit(() -> Audio.preload(audioFileName));
+        }
+        for (String mapFileName : assetManifest.getMapFileNames()) {
+            submit(() -> preloadFile(Config.MAP_FILES_PATH + mapFileName));
+        }
+    }
+
+    private void submit(Runnable task) {
+        getWorkers().execute(() -> {
+            try {
+                task.run();
+            } catch (Throwable e) {
+                error.compareAndSet(null, e);
+            } finally {
+                loadedAssetCount.incrementAndGet();
+                assetsLeft.countDown();
+            }
+        });
+    }
+
+    private static void loadImage(AssetManifest.ImageAsset imageAsset) {
+        BufferedImage image = ImageLoader.load(imageAsset.getImageFileName(), imageAsset.getTransparentColor());
+        if (imageAsset.isSpriteSheet() && TextureAtlas.isEnabled()) {
+            TextureAtlas.addSpriteSheet(image, imageAsset.getSpriteWidth(), imageAsset.getSpriteHeight());
+        }
+    }
+
+    private void preloadFile(String path) {
+        Path file = Paths.get(path);
+        // map files in the AssetPack are already in memory, and a missing map file is left alone here since the Map that uses it takes care of creating it
+        if (AssetPack.contains(path) || !Files.exists(file)) {
+            return;
+        }
+        try {
+            preloadedFiles.put(path, Files.readAllBytes(file));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        // the file may have been discarded while it was being read, in which case nothing will ever take it
+        if (isDiscarded) {
+            preloadedFiles.remove(path);
+        }
+    }
+
+    // lets go of every file from this manifest that was preloaded but never taken, for when whatever was loading it is done with it or was left before it finished (e.g. going back to the menu)
+    // files still being read when this is called are let go of as soon as they're done
+    public void discardPreloadedFiles() {
+        isDiscarded = true;
+        for (String mapFileName : assetManifest.getMapFileNames()) {
+            preloadedFiles.remove(Config.MAP_FILES_PATH + mapFileName);
+        }
+    }
+
+    // returns the contents of a file that was preloaded and lets go of them, or null if it wasn't preloaded (in which case it should be read from disk as usual)
+    public static byte[] takePreloadedFile(String path) {
+        return preloadedFiles.remove(path);
+    }
+
+    // how much of the manifest has been loaded, from 0 to 1
+    public float getProgress() {
+        int assetCount = assetManifest.getAssetCount();
+        return assetCount == 0 ? 1f : (float)loadedAssetCount.get() / assetCount;
+    }
+
+    public boolean isFinished() {
+        return assetsLeft.getCount() == 0;
+    }
+
+    // blocks until every asset has been loaded, throws if any of them failed to load
+    public void waitUntilFinished() {
+        try {
+            assetsLeft.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+        if (error.get() != null) {
+            throw new RuntimeException("Failed to preload assets", error.get());
+        }
+    }
+
+    private static synchronized ExecutorService getWorkers() {
+        if (workers == null) {
+            AtomicInteger threadCount = new AtomicInteger();
+            workers = Executors.newFixedThreadPool(Config.ASSET_PRELOAD_THREADS, runnable -> {
+                Thread thread = new Thread(runnable, "Asset Preloader " + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return workers;
+    }
+}
@@ -1,7 +1,11 @@
 package Engine;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.sound.sampled.AudioInputStream;
 import javax.sound.sampled.AudioSystem;
@@ -17,10 +21,49 @@ public class Audio {
 	protected static AudioInputStream audio;
 	protected static Clip clip;
 
+	// if muted, no music will be played (used when running the game headless)
+	protected static boolean isMuted = false;
+
+	// audio files that have been read into memory ahead of time (by the AssetPreloader), so playing them doesn't have to go to disk
+	protected static final ConcurrentHashMap<String, byte[]> preloadedAudio = new ConcurrentHashMap<>();
+
+	public static void setMuted(boolean muted) {
+		isMuted = muted;
+		if (muted) {
+			stopMusic();
+		}
+	}
+
+	// reads an audio file into memory so it's ready to be played
+	// if the file doesn't exist (or audio is muted) nothing happens here -- playMusic reports a missing file when it's played
+	// files in the AssetPack are already in memory, so they're left alone too
+	public static void preload(String fileName) {
+		File file = new File(fileName);
+		if (isMuted || preloadedAudio.containsKey(fileName) || AssetPack.contains(fileName) || !file.exists()) {
+			return;
+		}
+		try {
+			preloadedAudio.put(fileName, Files.readAllBytes(file.toPath()));
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
 	public static void playMusic(String fileName) {
+		if (isMuted) {
+			return;
+		}
 		
 		try {
-			audio = AudioSystem.getAudioInputStream(new File(fileName));
+			byte[] preloadedFile = preloadedAudio.get(fileName);
+			InputStream packedFile = preloadedFile == null ? AssetPack.openStream(fileName) : null;
+			if (preloadedFile != null) {
+				audio = AudioSystem.getAudioInputStream(new ByteArrayInputStream(preloadedFile));
+			} else if (packedFile != null) {
+				audio = AudioSystem.getAudioInputStream(packedFile);
+			} else {
+				audio = AudioSystem.getAudioInputStream(new File(fileName));
+			}
 		 clip = AudioSystem.getClip();
 		clip.open(audio);
 		clip.start();
@@ -44,6 +87,10 @@ public class Audio {
 
 	}
 	public static void stopMusic() {
+		// nothing to stop if no music has been played (or it failed to load)
+		if (clip == null) {
+			return;
+		}
 
 		clip.close();
 		clip.stop();
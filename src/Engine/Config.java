@@ -10,12 +10,81 @@ import java.awt.*;
  */
 public class Config {
     public static final int FPS = 100;
+
+    // which game loop runs the game -- THREAD is the engine's own fixed timestep loop, SWING_TIMER is the original javax.swing.Timer loop
+    public static final GameLoopMode GAME_LOOP_MODE = GameLoopMode.THREAD;
+
+    // max number of update cycles the THREAD game loop will run back to back to catch up when it falls behind before it renders again
+    public static final int MAX_UPDATES_PER_FRAME = 5;
+
+    // max number of times per second the THREAD game loop will render, independent of how many update cycles are run (0 = render as often as possible)
+    // renders in between update cycles draw moving things at interpolated positions, so this can be higher (or lower) than FPS without stutter
+    public static final int MAX_RENDER_FPS = 120;
+
+    // if true, when the THREAD game loop keeps falling behind, the FrameGovernor shrinks how far off screen the camera keeps updating things until it recovers
+    public static final boolean LOAD_SHEDDING = true;
+
+    // how the game gets its graphics onto the screen -- BUFFER_STRATEGY is active rendering with page flipping, SWING_REPAINT is the original JPanel repaint
+    public static final RenderMode RENDER_MODE = RenderMode.BUFFER_STRATEGY;
     public static final String RESOURCES_PATH = "Resources/";
     public static final String MAP_FILES_PATH = "MapFiles/";
     public static final int GAME_WINDOW_WIDTH = 800;
     public static final int GAME_WINDOW_HEIGHT = 605;
     public static final Color TRANSPARENT_COLOR = Colors.MAGENTA;
 
+    // how much memory (in bytes) loaded images can take up in the AssetCache before the least recently used ones that aren't in use are let go of
+    public static final long ASSET_CACHE_MEMORY_BUDGET = 64L * 1024 * 1024;
+
+    // if true, images are saved to BAKED_ASSETS_PATH after their transparent color is applied, and loaded from there on later runs (see AssetBaker class)
+    public static final boolean BAKE_ASSETS = true;
+    public static final String BAKED_ASSETS_PATH = "BakedAssets/";
+
+    // if true, loaded images are converted to match the screen's pixel format so they can be kept in video memory instead of converted every time they are drawn
+    public static final boolean COMPATIBLE_IMAGES = true;
+
+    // if true, images marked as hot (drawn every frame and never changed, like the HUD) are drawn from a VolatileImage copy kept in video memory (see VolatileImageCache class)
+    public static final boolean VOLATILE_IMAGE_CACHE = false;
+
+    // if true, sprites are drawn from copies of their images that are already scaled and flipped (see SpriteVariantCache class), instead of being scaled and flipped every draw
+    public static final boolean SPRITE_VARIANT_CACHE = true;
+
+    // how much memory (in bytes) the scaled and flipped sprite copies can take up before the least recently drawn ones are let go of
+    public static final long SPRITE_VARIANT_CACHE_MEMORY_BUDGET = 32L * 1024 * 1024;
+
+    // if true, a map's tiles that don't animate are drawn from pre-drawn chunk images (see MapChunkCache class), instead of being drawn one by one every frame
+    public static final boolean MAP_CHUNK_CACHE = true;
+
+    // how many tiles wide and tall each pre-drawn chunk of a map is
+    public static final int MAP_CHUNK_SIZE = 16;
+
+    // how much memory (in bytes) a map's pre-drawn chunks can take up before the least recently drawn ones are let go of
+    public static final long MAP_CHUNK_CACHE_MEMORY_BUDGET = 32L * 1024 * 1024;
+
+    // if true, maps with a chunked map file are streamed in a chunk at a time around the camera (see MapChunkStreamer class), instead of being read in all at once
+    public static final boolean MAP_STREAMING = true;
+
+    // how many chunks past the camera's update range are loaded in the background, so they're ready before the camera gets to them
+    public static final int MAP_STREAMING_LOAD_DISTANCE = 1;
+
+    // how many chunks past the camera's update range a chunk has to be before it's unloaded (kept bigger than MAP_STREAMING_LOAD_DISTANCE so chunks on the edge aren't loaded and unloaded over and over)
+    public static final int MAP_STREAMING_UNLOAD_DISTANCE = 3;
+
+    // if true, every sprite sheet's sprites are packed into a few large atlas pages (see TextureAtlas class) instead of each sprite sheet being its own image
+    public static final boolean TEXTURE_ATLAS = true;
+
+    // width and height (in pixels) of each texture atlas page
+    public static final int TEXTURE_ATLAS_PAGE_SIZE = 1024;
+
+    // number of background threads the AssetPreloader uses to load a level's assets while the loading screen is up
+    public static final int ASSET_PRELOAD_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+
+    // if true, assets are read out of the single packed asset file at ASSET_PACK_PATH when it exists (see AssetPack class), instead of from their loose files
+    public static final boolean USE_ASSET_PACK = true;
+    public static final String ASSET_PACK_PATH = "assets.pack";
+
+    // how long (in milliseconds) a changed asset file has to go without changing again before the AssetHotReloader reloads it (only used when the game is run with --hot-reload)
+    public static final long ASSET_HOT_RELOAD_DELAY = 100;
+
     // prevents Config from being instantiated -- it's my way of making a "static" class like C# has
     private Config() { }
 }
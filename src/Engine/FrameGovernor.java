@@ -0,0 +1,140 @@
+package Engine;
+
+/*
+ * Keeps the game loop running smoothly when update cycles or renders start taking longer than they should
+ * The game loop reports how long each update cycle and render takes to this class, as well as whether it's fallen behind, and the governor decides:
+ * 1. if a render should be skipped so the time can go towards catching up on update cycles instead (update cycles are never skipped)
+ * 2. if the loop has been behind for a while, if load should be "shed" by shrinking how far off screen the Camera keeps updating things
+ *    once the loop has recovered and has plenty of spare time again, the shed load is slowly added back
+ * All decisions are counted and exposed through getters so they can be displayed or logged
+ * Only the THREAD game loop uses the governor
+ */
+public class FrameGovernor {
+    // max number of renders in a row that can be skipped, so the screen is never left without a new frame for too long
+    private static final int MAX_CONSECUTIVE_SKIPPED_RENDERS = 10;
+
+    // max amount the Camera's off screen update range can be shrunk by (in tiles)
+    public static final int MAX_UPDATE_RANGE_REDUCTION = 2;
+
+    // number of loop cycles in a row the loop has to be behind before load is shed
+    private static final int LOOP_CYCLES_BEHIND_BEFORE_SHEDDING = 30;
+
+    // number of loop cycles in a row the loop has to have plenty of spare time before shed load is added back
+    private static final int LOOP_CYCLES_RECOVERED_BEFORE_RESTORING = 300;
+
+    // weight given to the newest sample when averaging update cycle and render times
+    private static final double AVERAGE_WEIGHT = 0.1;
+
+    // average time in nanoseconds an update cycle and a render takes
+    private static volatile double averageUpdateNanos, averageRenderNanos;
+
+    private static int consecutiveSkippedRenders;
+    private static int loopCyclesBehind, loopCyclesRecovered;
+
+    // how many tiles the Camera's off screen update range is currently shrunk by
+    private static volatile int updateRangeReduction;
+
+    // running totals of decisions made
+    private static volatile long skippedRenderCount, renderCount, loadShedCount, loadRestoreCount, droppedUpdateCount;
+
+    // prevents FrameGovernor from being instantiated -- it's my way of making a "static" class like C# has
+    private FrameGovernor() { }
+
+    // called by the game loop after each update cycle with how long it took
+    public static void recordUpdate(long nanos) {
+        averageUpdateNanos = average(averageUpdateNanos, nanos);
+    }
+
+    // called by the game loop after each render with how long it took
+    public static void recordRender(long nanos) {
+        averageRenderNanos = average(averageRenderNanos, nanos);
+        renderCount++;
+        consecutiveSkippedRenders = 0;
+    }
+
+    // called by the game loop when a render is due
+    // if the loop is behind on update cycles, the render is skipped (unless too many have been skipped in a row already)
+    public static boolean shouldRender(boolean isBehind) {
+        if (isBehind && consecutiveSkippedRenders < MAX_CONSECUTIVE_SKIPPED_RENDERS) {
+            consecutiveSkippedRenders++;
+            skippedRenderCount++;
+            return false;
+        }
+        return true;
+    }
+
+    // called by the game loop when it gives up on catching up and drops update cycles
+    public static void recordDroppedUpdates(long numberOfUpdates) {
+        droppedUpdateCount += numberOfUpdates;
+    }
+
+    // called by the game loop once per loop cycle with whether it is behind on update cycles and how long each update cycle is allowed to take
+    // decides whether load should be shed or restored
+    public static void endLoopCycle(boolean isBehind, long nanosPerUpdate) {
+        // load shedding changes what gets updated based on how fast the computer is, so it's turned off while input is recorded to keep recordings replayable
+        if (!Config.LOAD_SHEDDING || InputRecorder.isActive()) {
+            return;
+        }
+
+        if (isBehind) {
+            loopCyclesRecovered = 0;
+            loopCyclesBehind++;
+            if (loopCyclesBehind >= LOOP_CYCLES_BEHIND_BEFORE_SHEDDING && updateRangeReduction < MAX_UPDATE_RANGE_REDUCTION) {
+                updateRangeReduction++;
+                loadShedCount++;
+                loopCyclesBehind = 0;
+            }
+        } else {
+            loopCyclesBehind = 0;
+
+            // only counts as recovered if update cycles are taking less than half of the time they're allowed
+            if (updateRangeReduction > 0 && averageUpdateNanos < nanosPerUpdate / 2) {
+                loopCyclesRecovered++;
+                if (loopCyclesRecovered >= LOOP_CYCLES_RECOVERED_BEFORE_RESTORING) {
+                    updateRangeReduction--;
+                    loadRestoreCount++;
+                    loopCyclesRecovered = 0;
+                }
+            } else {
+                loopCyclesRecovered = 0;
+            }
+        }
+    }
+
+    private static double average(double average, long sample) {
+        return average == 0 ? sample : average + (sample - average) * AVERAGE_WEIGHT;
+    }
+
+    // how many tiles the Camera's off screen update range should currently be shrunk by
+    public static int getUpdateRangeReduction() {
+        return updateRangeReduction;
+    }
+
+    public static double getAverageUpdateMillis() {
+        return averageUpdateNanos / 1000000.0;
+    }
+
+    public static double getAverageRenderMillis() {
+        return averageRenderNanos / 1000000.0;
+    }
+
+    public static long getSkippedRenderCount() {
+        return skippedRenderCount;
+    }
+
+    public static long getRenderCount() {
+        return renderCount;
+    }
+
+    public static long getDroppedUpdateCount() {
+        return droppedUpdateCount;
+    }
+
+    public static long getLoadShedCount() {
+        return loadShedCount;
+    }
+
+    public static long getLoadRestoreCount() {
+        return loadRestoreCount;
+    }
+}
@@ -0,0 +1,189 @@
+package Engine;
+
+import java.awt.*;
+import java.util.Arrays;
+
+/*
+ * Measures where time goes each frame and can display it as an overlay on top of the game
+ * Parts of the engine mark the start and end of a ProfilerSection with begin/end, and the time spent in each section is added up until the frame ends (after each draw)
+ * Each frame's totals are saved into ring buffers that hold the last SAMPLE_COUNT frames, which are used to show:
+ * FPS, the 50th/95th/99th percentile frame time, the average time each section took, and a rolling graph of frame times
+ * All buffers are created up front, so measuring doesn't allocate anything while the game runs
+ * Nothing is measured unless the profiler is enabled (toggled in game with F3)
+ */
+public class FrameProfiler {
+    // number of frames kept track of -- a couple of seconds' worth, which is enough for the percentiles to mean something while still reacting quickly to changes
+    private static final int SAMPLE_COUNT = 240;
+
+    // how many frames in between refreshing the overlay's text
+    private static final int OVERLAY_REFRESH_FRAMES = 20;
+
+    private static final ProfilerSection[] SECTIONS = ProfilerSection.values();
+
+    // overlay layout
+    private static final int OVERLAY_X = 10, OVERLAY_Y = 10, OVERLAY_WIDTH = 380, LINE_HEIGHT = 14, GRAPH_HEIGHT = 60;
+    private static final Font OVERLAY_FONT = new Font("Monospaced", Font.PLAIN, 12);
+    private static final Color OVERLAY_BACKGROUND_COLOR = new Color(0, 0, 0, 170);
+    private static final Color GRAPH_COLOR = new Color(80, 220, 80);
+    private static final Color GRAPH_SLOW_COLOR = new Color(230, 70, 70);
+    private static final Color GRAPH_TARGET_COLOR = new Color(255, 255, 255, 120);
+
+    private static volatile boolean isEnabled;
+
+    // when each section was last started, and how much time has been spent in each section this frame
+    private static final long[] sectionStartTimes = new long[SECTIONS.length];
+    private static final long[] sectionTotals = new long[SECTIONS.length];
+
+    // ring buffers of each frame's total frame time and time spent in each section
+    private static final long[] frameTimes = new long[SAMPLE_COUNT];
+    private static final long[][] sectionSamples = new long[SECTIONS.length][SAMPLE_COUNT];
+    private static int nextSampleIndex, sampleCount;
+    private static long lastFrameEndTime;
+
+    // scratch space for sorting frame times
+    private static final long[] sortedFrameTimes = new long[SAMPLE_COUNT];
+
+    // text shown on the overlay, one line for the frame summary, one for each section, and one for image memory use
+    private static final String[] overlayLines = new String[SECTIONS.length + 2];
+    private static int framesSinceOverlayRefresh = OVERLAY_REFRESH_FRAMES;
+
+    // prevents FrameProfiler from being instantiated -- it's my way of making a "static" class like C# has
+    private FrameProfiler() { }
+
+    public static boolean isEnabled() {
+        return isEnabled;
+    }
+
+    public static void toggle() {
+        setEnabled(!isEnabled);
+    }
+
+    // turning the profiler on starts it off fresh, so old measurements don't get mixed in with new ones
+    public static void setEnabled(boolean enabled) {
+        if (enabled && !isEnabled) {
+            Arrays.fill(sectionTotals, 0);
+            nextSampleIndex = 0;
+            sampleCount = 0;
+            lastFrameEndTime = 0;
+            framesSinceOverlayRefresh = OVERLAY_REFRESH_FRAMES;
+        }
+        isEnabled = enabled;
+    }
+
+    // marks the start of time being spent in a section
+    public static void begin(ProfilerSection section) {
+        if (isEnabled) {
+            sectionStartTimes[section.ordinal()] = System.nanoTime();
+        }
+    }
+
+    // marks the end of time being spent in a section, adding the time since begin was called to this frame's total for the section
+    public static void end(ProfilerSection section) {
+        if (isEnabled) {
+            sectionTotals[section.ordinal()] += System.nanoTime() - sectionStartTimes[section.ordinal()];
+        }
+    }
+
+    // called once a frame has been drawn, saves the frame's totals and starts the next frame
+    public static void endFrame() {
+        if (!isEnabled) {
+            return;
+        }
+        long currentTime = System.nanoTime();
+        if (lastFrameEndTime != 0) {
+            frameTimes[nextSampleIndex] = currentTime - lastFrameEndTime;
+            for (int i = 0; i < SECTIONS.length; i++) {
+                sectionSamples[i][nextSampleIndex] = sectionTotals[i];
+            }
+            nextSampleIndex = (nextSampleIndex + 1) % SAMPLE_COUNT;
+            sampleCount = Math.min(sampleCount + 1, SAMPLE_COUNT);
+            framesSinceOverlayRefresh++;
+        }
+        Arrays.fill(sectionTotals, 0);
+        lastFrameEndTime = currentTime;
+    }
+
+    // gets the frame time (in nanoseconds) that the given percentage (0 to 1) of recent frames were at or under
+    public static long getFrameTimePercentile(double percentile) {
+        if (sampleCount == 0) {
+            return 0;
+        }
+        System.arraycopy(frameTimes, 0, sortedFrameTimes, 0, sampleCount);
+        Arrays.sort(sortedFrameTimes, 0, sampleCount);
+        int index = (int)Math.ceil(percentile * sampleCount) - 1;
+        return sortedFrameTimes[Math.max(0, Math.min(sampleCount - 1, index))];
+    }
+
+    // average time (in nanoseconds) recent frames spent in a section
+    public static long getAverageSectionTime(ProfilerSection section) {
+        return sampleCount == 0 ? 0 : sum(sectionSamples[section.ordinal()]) / sampleCount;
+    }
+
+    // average time (in nanoseconds) recent frames took
+    public static long getAverageFrameTime() {
+        return sampleCount == 0 ? 0 : sum(frameTimes) / sampleCount;
+    }
+
+    private static long sum(long[] samples) {
+        long total = 0;
+        for (int i = 0; i < sampleCount; i++) {
+            total += samples[i];
+        }
+        return total;
+    }
+
+    // draws the profiler overlay on top of whatever has been drawn so far
+    public static void draw(GraphicsHandler graphicsHandler) {
+        if (!isEnabled) {
+            return;
+        }
+        if (framesSinceOverlayRefresh >= OVERLAY_REFRESH_FRAMES) {
+            refreshOverlayLines();
+            framesSinceOverlayRefresh = 0;
+        }
+
+        int textHeight = overlayLines.length * LINE_HEIGHT;
+        graphicsHandler.drawFilledRectangle(OVERLAY_X, OVERLAY_Y, OVERLAY_WIDTH, textHeight + GRAPH_HEIGHT + 20, OVERLAY_BACKGROUND_COLOR);
+        for (int i = 0; i < overlayLines.length; i++) {
+            graphicsHandler.drawString(overlayLines[i], OVERLAY_X + 6, OVERLAY_Y + 14 + (i * LINE_HEIGHT), OVERLAY_FONT, Color.WHITE);
+        }
+        drawGraph(graphicsHandler, OVERLAY_X + 10, OVERLAY_Y + textHeight + 10);
+    }
+
+    // draws a bar for each recent frame's frame time, oldest on the left and newest on the right
+    // the line across the graph is how long a frame should take based on Config.FPS, bars over it are drawn in red
+    private static void drawGraph(GraphicsHandler graphicsHandler, int x, int y) {
+        long targetFrameTime = 1000000000L / Config.FPS;
+
+        // the graph's height fits frames up to 4 times the target frame time
+        double pixelsPerNano = GRAPH_HEIGHT / (targetFrameTime * 4.0);
+        int graphBottom = y + GRAPH_HEIGHT;
+        for (int i = 0; i < sampleCount; i++) {
+            int sampleIndex = (nextSampleIndex - sampleCount + i + SAMPLE_COUNT) % SAMPLE_COUNT;
+            long frameTime = frameTimes[sampleIndex];
+            int barHeight = (int)Math.min(GRAPH_HEIGHT, Math.max(1, frameTime * pixelsPerNano));
+            Color color = frameTime > targetFrameTime ? GRAPH_SLOW_COLOR : GRAPH_COLOR;
+            graphicsHandler.drawFilledRectangle(x + (SAMPLE_COUNT - sampleCount) + i, graphBottom - barHeight, 1, barHeight, color);
+        }
+        int targetLineY = graphBottom - (int)(targetFrameTime * pixelsPerNano);
+        graphicsHandler.drawFilledRectangle(x, targetLineY, SAMPLE_COUNT, 1, GRAPH_TARGET_COLOR);
+    }
+
+    private static void refreshOverlayLines() {
+        long averageFrameTime = getAverageFrameTime();
+        double fps = averageFrameTime == 0 ? 0 : 1000000000.0 / averageFrameTime;
+        overlayLines[0] = String.format("FPS %5.1f  p50 %5.2f  p95 %5.2f  p99 %5.2f ms", fps,
+                toMillis(getFrameTimePercentile(0.50)), toMillis(getFrameTimePercentile(0.95)), toMillis(getFrameTimePercentile(0.99)));
+        for (int i = 0; i < SECTIONS.length; i++) {
+            overlayLines[i + 1] = String.format("%-26s %6.2f ms", SECTIONS[i].getLabel(), toMillis(getAverageSectionTime(SECTIONS[i])));
+        }
+        // memory used by loaded images and by the scaled/flipped sprite copies made from them
+        overlayLines[SECTIONS.length + 1] = String.format("Images %d (%.1f MB)  Variants %d (%.1f MB)",
+                AssetCache.getSize(), AssetCache.getSizeInBytes() / (1024.0 * 1024.0),
+                SpriteVariantCache.getSize(), SpriteVariantCache.getSizeInBytes() / (1024.0 * 1024.0));
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1000000.0;
+    }
+}
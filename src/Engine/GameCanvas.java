@@ -0,0 +1,57 @@
+package Engine;
+
+import java.awt.*;
+import java.awt.image.BufferStrategy;
+
+/*
+ * Canvas used for active rendering when Config.RENDER_MODE is BUFFER_STRATEGY
+ * Instead of scheduling a repaint and waiting on swing to carry it out, the game draws straight to the canvas's back buffer
+ * through the GraphicsHandler and then flips it on to the screen itself, so it knows exactly when a frame is shown
+ * The back buffer can be lost at any time (e.g. the window gets minimized or the display mode changes), so render handles redrawing the frame when that happens
+ */
+public class GameCanvas extends Canvas {
+    // number of buffers to flip between (2 = one back buffer and the screen)
+    private static final int NUMBER_OF_BUFFERS = 2;
+
+    private final GraphicsHandler graphicsHandler;
+    private BufferStrategy bufferStrategy;
+
+    public GameCanvas(GraphicsHandler graphicsHandler) {
+        this.graphicsHandler = graphicsHandler;
+
+        // the game decides when to render, so the paint requests swing/awt sends to this canvas are ignored
+        setIgnoreRepaint(true);
+    }
+
+    // renders one frame -- drawFrame is called with the graphics handler already pointed at the back buffer
+    public void render(Runnable drawFrame) {
+        // buffer strategy can only be created once the canvas is actually on screen
+        if (!isDisplayable() || getWidth() <= 0 || getHeight() <= 0) {
+            return;
+        }
+        if (bufferStrategy == null) {
+            createBufferStrategy(NUMBER_OF_BUFFERS);
+            bufferStrategy = getBufferStrategy();
+        }
+
+        // the outer loop redraws the frame if the back buffer was lost before it could be shown,
+        // the inner loop redraws the frame if the back buffer was lost and restored while it was being drawn to
+        do {
+            do {
+                Graphics2D graphics = (Graphics2D) bufferStrategy.getDrawGraphics();
+                try {
+                    graphics.setColor(getBackground());
+                    graphics.fillRect(0, 0, getWidth(), getHeight());
+                    graphicsHandler.setGraphics(graphics);
+                    drawFrame.run();
+                } finally {
+                    graphics.dispose();
+                }
+            } while (bufferStrategy.contentsRestored());
+            bufferStrategy.show();
+        } while (bufferStrategy.contentsLost());
+
+        // some platforms (linux mostly) buffer up graphics operations, this makes sure the frame actually gets shown now
+        Toolkit.getDefaultToolkit().sync();
+    }
+}
@@ -0,0 +1,107 @@
+package Engine;
+
+/*
+ * The game's clock, which every timer in the game reads the current time from
+ * Instead of asking the system for the current time, time is counted in update cycles (ticks) -- the game loop advances the clock once at the start of each update cycle,
+ * and each tick is worth 1000 / Config.FPS milliseconds of game time
+ * This means game time stops while the clock is paused, moves slower or faster based on the time scale, and is always exactly the same for the same number of update cycles
+ * Callbacks can also be scheduled to run after a delay, which are run by the clock's TimerWheel as it advances
+ */
+public class GameClock {
+    // number of update cycles the clock has advanced through
+    private static long ticks;
+
+    // if paused, the clock will not advance (unless it is told to step forward)
+    private static boolean isPaused;
+
+    // number of ticks the clock has been told to advance through while paused
+    private static int pendingSteps;
+
+    // how fast game time passes compared to real time (e.g. 0.5 is half speed), used by the game loop to determine how often to run update cycles
+    private static volatile float timeScale = 1f;
+
+    // runs scheduled callbacks once the clock reaches the tick they are scheduled for
+    private static final TimerWheel timerWheel = new TimerWheel();
+
+    // prevents GameClock from being instantiated -- it's my way of making a "static" class like C# has
+    private GameClock() { }
+
+    // called by the game loop at the start of each update cycle
+    // returns true if the clock advanced and the update cycle should go ahead, or false if the clock is paused
+    public static boolean tick() {
+        if (isPaused) {
+            if (pendingSteps == 0) {
+                return false;
+            }
+            pendingSteps--;
+        }
+        ticks++;
+
+        // runs any callbacks that were scheduled for this tick before the update cycle starts
+        timerWheel.advance();
+        return true;
+    }
+
+    // schedules callback to run once delayMillis milliseconds of game time have passed
+    // callbacks are run on the game loop at the start of an update cycle, and like everything else on the clock, they are not run while the game is paused
+    public static ScheduledTask schedule(int delayMillis, Runnable callback) {
+        return timerWheel.schedule(millisToTicks(delayMillis), callback);
+    }
+
+    // schedules callback to run once delayTicks update cycles have passed
+    public static ScheduledTask scheduleTicks(long delayTicks, Runnable callback) {
+        return timerWheel.schedule(delayTicks, callback);
+    }
+
+    // number of callbacks currently waiting to run
+    public static int getScheduledTaskCount() {
+        return timerWheel.size();
+    }
+
+    // number of update cycles that have been run since the game started
+    public static long getTicks() {
+        return ticks;
+    }
+
+    // amount of game time in milliseconds that has passed since the game started
+    public static long getTimeMillis() {
+        return ticksToMillis(ticks);
+    }
+
+    public static long ticksToMillis(long ticks) {
+        return ticks * 1000L / Config.FPS;
+    }
+
+    // converts milliseconds into number of ticks, rounding up so a wait is never cut short
+    public static long millisToTicks(long millis) {
+        return (millis * Config.FPS + 999L) / 1000L;
+    }
+
+    public static boolean isPaused() {
+        return isPaused;
+    }
+
+    public static void setPaused(boolean isPaused) {
+        GameClock.isPaused = isPaused;
+        pendingSteps = 0;
+    }
+
+    // while paused, lets the clock advance through one more update cycle (useful for stepping through the game frame by frame)
+    public static void step() {
+        if (isPaused) {
+            pendingSteps++;
+        }
+    }
+
+    public static float getTimeScale() {
+        return timeScale;
+    }
+
+    // only the THREAD game loop supports changing the time scale, the SWING_TIMER game loop always runs at normal speed
+    public static void setTimeScale(float timeScale) {
+        if (timeScale <= 0) {
+            throw new RuntimeException("Time scale must be greater than 0");
+        }
+        GameClock.timeScale = timeScale;
+    }
+}
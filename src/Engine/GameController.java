@@ -0,0 +1,205 @@
+package Engine;
+
+import Game.GameState;
+import Game.ScreenCoordinator;
+import Level.Player;
+import Screens.PlayLevelScreen;
+import SpriteFont.CachedSpriteFont;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/*
+ * Runs the game itself one update cycle or one frame at a time, without caring about how (or if) it's being shown on screen
+ * This includes latching input, pausing, advancing the GameClock, updating the current Screen, the level countdown timer, and drawing the HUD on top of the current Screen
+ * The GamePanel uses this to run the game in a window, and the HeadlessRunner uses it to run the game with no window at all, so both run the exact same game logic
+ */
+public class GameController {
+	// loads Screens
+	// each screen has its own update and draw methods defined to handle a "section" of the game.
+	private final ScreenManager screenManager = new ScreenManager();
+
+	private ScreenCoordinator screenCoordinator;
+
+	// used to keep track of the time of game play for the game timer
+	private long startTime, millisPassed, secondsPassed, minutesPassed, currentTime;
+	private boolean wasStarted, timerStart;
+	private long fixedTimer = 120;
+
+	private boolean isGamePaused = false;
+	private CachedSpriteFont pauseLabel, timerLabel;
+
+	// pause/play button images are drawn every frame, so they are acquired once and kept in the AssetCache for as long as the game runs
+	private final BufferedImage playButtonImage, pauseButtonImage;
+
+	// countdown value (in seconds) the timer label is currently showing, so the label is only changed when the value changes
+	private long displayedTimerSeconds = -1;
+	private KeyLocker keyLocker = new KeyLocker();
+	private final Key pauseKey = Key.ESC;
+	private final Key profilerKey = Key.F3;
+
+	public GameController() {
+		Mouse.setGameController(this);
+
+		playButtonImage = ImageLoader.acquire("PlayButton.png");
+		pauseButtonImage = ImageLoader.acquire("PauseButton.png");
+		VolatileImageCache.markHot(playButtonImage);
+		VolatileImageCache.markHot(pauseButtonImage);
+
+		pauseLabel = new CachedSpriteFont("PAUSE", 365, 280, "Comic Sans", 24, Color.white);
+		pauseLabel.setOutlineColor(Color.black);
+		pauseLabel.setOutlineThickness(2.0f);
+
+		// label for the game timer
+		// this is drawn every frame but only changes once a second, so its text is cached to an image instead of being redrawn each frame
+		timerLabel = new CachedSpriteFont(minutesPassed + ":" + secondsPassed, 720, 25, "Comic Sans", 24, Color.white);
+		timerLabel.setOutlineColor(Color.black);
+		timerLabel.setOutlineThickness(2.0f);
+	}
+
+	public ScreenManager getScreenManager() {
+		return screenManager;
+	}
+
+	// sets the screencoordinator to the one being used
+	public void setScreenCoordinator(ScreenCoordinator screenCoordinator) {
+		this.screenCoordinator = screenCoordinator;
+	}
+
+	// called right before the first update cycle
+	public void startGame() {
+		wasStarted = true;
+	}
+
+	public boolean isGamePaused() {
+		return isGamePaused;
+	}
+
+	public void switchPauseState() {
+		this.isGamePaused = !isGamePaused;
+		GameClock.setPaused(isGamePaused);
+	}
+
+	// runs one update cycle
+	// only lets the game be paused if the game state is the level (and the level isn't loading)
+	public void update() {
+		// input is read once at the start of each update cycle, so it stays the same for the entire cycle (and can be recorded/replayed)
+		InputRecorder.latchInput();
+		Mouse.processClicks();
+
+		// asset files changed while the game is running are swapped in before anything updates (only when run with --hot-reload)
+		AssetHotReloader.applyChanges();
+
+		if (screenCoordinator != null && screenCoordinator.getGameState() == GameState.LEVEL && !screenCoordinator.isLoading()) {
+			if (Keyboard.isKeyDown(pauseKey) && !keyLocker.isKeyLocked(pauseKey)) {
+				switchPauseState();
+				keyLocker.lockKey(pauseKey);
+			}
+		}
+
+		if (Keyboard.isKeyUp(pauseKey)) {
+			keyLocker.unlockKey(pauseKey);
+		}
+
+		// the frame profiler overlay can be toggled on and off at any time
+		if (Keyboard.isKeyDown(profilerKey) && !keyLocker.isKeyLocked(profilerKey)) {
+			FrameProfiler.toggle();
+			keyLocker.lockKey(profilerKey);
+		}
+
+		if (Keyboard.isKeyUp(profilerKey)) {
+			keyLocker.unlockKey(profilerKey);
+		}
+
+		FrameProfiler.begin(ProfilerSection.UPDATE);
+		// the game clock only advances (and the game only updates) if the game isn't paused
+		if (GameClock.tick()) {
+			screenManager.update();
+		}
+		gameTimer();
+		FrameProfiler.end(ProfilerSection.UPDATE);
+	}
+
+	// runs the timer that counts how long the player has been playing
+	private void gameTimer() {
+		if (PlayLevelScreen.playLevelScreenRunning()) {
+
+			if (wasStarted) {
+				startTime = GameClock.getTimeMillis();
+				fixedTimer = 120;
+				wasStarted = false;
+				timerStart = true;
+			}
+			// the game clock doesn't advance while the game is paused, so paused time is never counted by the game timer
+			if (!isGamePaused) {
+				millisPassed = GameClock.getTimeMillis() - startTime;
+				// secondsPassed = (millisPassed / 1000);
+						
+				
+				secondsPassed = millisPassed/1000; // converts milliseconds to seconds
+				
+				currentTime = fixedTimer - secondsPassed; // gets fixed time minus the seconds passed for countdown
+				if (currentTime < 0) {
+					currentTime = 0;
+					Player.killPlayer();
+				}
+				
+				
+			}
+
+			// the timer label's text only needs to be rebuilt when the second being shown changes
+			if (currentTime != displayedTimerSeconds) {
+				String timerString;
+
+				int sec = (int)currentTime % 60;
+				int min = ((int)currentTime / 60)%60;
+
+				if (sec < 10) {
+					timerString = min + ":0" + sec;
+				} else {
+					timerString = min + ":" + sec;
+				}
+
+				timerLabel.setText(timerString);
+				displayedTimerSeconds = currentTime;
+			}
+		} else if (PlayLevelScreen.levelOver()) {
+			startTime = GameClock.getTimeMillis();
+			wasStarted = false;
+			timerStart = true;
+			minutesPassed = 0;
+		}
+	}
+
+	// draws one frame -- alpha is how far in between the last update cycle and the next one this frame is
+	public void draw(GraphicsHandler graphicsHandler, float alpha) {
+		// while paused nothing is moving, so everything is drawn right where it is
+		Interpolation.setAlpha(isGamePaused ? 1f : alpha);
+		FrameProfiler.begin(ProfilerSection.DRAW);
+		screenManager.draw(graphicsHandler);
+
+		FrameProfiler.begin(ProfilerSection.DRAW_HUD);
+		// draws the timer on the screen when it the play level screen is running 
+		if (timerStart && PlayLevelScreen.playLevelScreenRunning()) {
+			timerLabel.draw(graphicsHandler);
+		}
+
+		// if game is paused, draw pause gfx over Screen gfx
+		if (isGamePaused) {
+			graphicsHandler.drawFilledRectangle(0, 0, ScreenManager.getScreenWidth(), ScreenManager.getScreenHeight(),
+					new Color(0, 0, 0, 100));
+			pauseLabel.draw(graphicsHandler);
+			// Newly added images that represent pause and play
+			graphicsHandler.drawImage(playButtonImage, 670, 0,43,43);
+			
+		} else if (PlayLevelScreen.playLevelScreenRunning()) {
+			graphicsHandler.drawImage(pauseButtonImage, 670, 0,43,43);
+		}
+		FrameProfiler.end(ProfilerSection.DRAW_HUD);
+		FrameProfiler.end(ProfilerSection.DRAW);
+
+		// profiler overlay is drawn on top of everything else, and then the frame is over as far as the profiler is concerned
+		FrameProfiler.draw(graphicsHandler);
+		FrameProfiler.endFrame();
+	}
+}
@@ -0,0 +1,132 @@
+package Engine;
+
+/*
+ * The engine's own game loop, which runs on a dedicated thread instead of sharing the Swing event dispatch thread with painting and input
+ * Game logic is updated at a fixed rate (Config.FPS updates per second), with time tracked using System.nanoTime
+ * If the loop falls behind (e.g. an update took longer than it should have), it runs multiple updates back to back to catch up,
+ * but never more than Config.MAX_UPDATES_PER_FRAME in a row -- after that any leftover time is dropped so the game can't get stuck only updating
+ * Rendering is handed off separately through the renderer passed in, which is called up to Config.MAX_RENDER_FPS times per second no matter how many updates run
+ * Each render is given an alpha value of how far along the loop is to the next update cycle, which is used to interpolate positions in between update cycles
+ * How long update cycles and renders take is reported to the FrameGovernor, which decides when renders should be skipped to let update cycles catch up
+ */
+public class GameLoop implements Runnable {
+    // what gets called each render cycle, alpha is how far (0 to 1) the loop is in between the last update cycle and the next one
+    public interface Renderer {
+        void render(float alpha);
+    }
+
+    // what gets called each update cycle and each render cycle
+    private final Runnable updater;
+    private final Renderer renderer;
+
+    // how many nanoseconds each update cycle is given (based on Config.FPS)
+    private final long nanosPerUpdate;
+
+    // how many nanoseconds have to pass in between render cycles (based on Config.MAX_RENDER_FPS)
+    private final long nanosPerRender;
+
+    private Thread thread;
+    private volatile boolean isRunning;
+
+    public GameLoop(Runnable updater, Renderer renderer) {
+        this.updater = updater;
+        this.renderer = renderer;
+        this.nanosPerUpdate = 1000000000L / Config.FPS;
+        this.nanosPerRender = Config.MAX_RENDER_FPS > 0 ? 1000000000L / Config.MAX_RENDER_FPS : 0;
+    }
+
+    // starts up the game loop thread
+    public void start() {
+        if (isRunning) {
+            return;
+        }
+        isRunning = true;
+        thread = new Thread(this, "Game Loop");
+
+        // daemon thread so the game loop doesn't keep the application alive after the window is closed
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // tells the game loop thread to finish its current cycle and then stop
+    public void stop() {
+        isRunning = false;
+    }
+
+    public boolean isRunning() {
+        return isRunning;
+    }
+
+    @Override
+    public void run() {
+        long previousTime = System.nanoTime();
+
+        // amount of time that has passed which has not been "used up" by an update cycle yet
+        long unprocessedTime = 0;
+
+        // when the last render cycle happened (starts far enough back that the first loop cycle renders)
+        long lastRenderTime = previousTime - nanosPerRender;
+
+        while (isRunning) {
+            long currentTime = System.nanoTime();
+            // time passed is scaled by the game clock's time scale, so slowing down game time means update cycles are run less often
+            unprocessedTime += (long)((currentTime - previousTime) * GameClock.getTimeScale());
+            previousTime = currentTime;
+
+            try {
+                // run as many update cycles as have built up, up to the max allowed before rendering again
+                int updateCount = 0;
+                while (unprocessedTime >= nanosPerUpdate && updateCount < Config.MAX_UPDATES_PER_FRAME) {
+                    long updateStartTime = System.nanoTime();
+                    updater.run();
+                    FrameGovernor.recordUpdate(System.nanoTime() - updateStartTime);
+                    unprocessedTime -= nanosPerUpdate;
+                    updateCount++;
+                }
+                boolean isBehind = unprocessedTime >= nanosPerUpdate;
+
+                // render if enough time has passed since the last render
+                // this happens whether or not an update ran, since interpolated positions change as time moves towards the next update
+                // if the loop is behind, the governor may decide to skip this render so the loop can go straight back to catching up on update cycles
+                if (currentTime - lastRenderTime >= nanosPerRender && FrameGovernor.shouldRender(isBehind)) {
+                    // if loop is still behind when it has to render, the leftover time is dropped
+                    // the game will run slower than real time for a moment instead of never rendering again
+                    if (isBehind) {
+                        FrameGovernor.recordDroppedUpdates(unprocessedTime / nanosPerUpdate);
+                        unprocessedTime %= nanosPerUpdate;
+                    }
+
+                    long renderStartTime = System.nanoTime();
+                    renderer.render((float)unprocessedTime / nanosPerUpdate);
+                    FrameGovernor.recordRender(System.nanoTime() - renderStartTime);
+                    lastRenderTime = currentTime;
+                }
+                FrameGovernor.endLoopCycle(isBehind, nanosPerUpdate);
+            } catch (RuntimeException e) {
+                // same as the swing timer, an exception in one cycle is reported but doesn't kill the game loop
+                e.printStackTrace();
+            }
+
+            // sleep until either the next update cycle or the next render cycle is due, whichever comes first
+            long elapsedSinceLoopStart = System.nanoTime() - previousTime;
+            long nanosUntilUpdate = (long)((nanosPerUpdate - unprocessedTime) / GameClock.getTimeScale()) - elapsedSinceLoopStart;
+            long nanosUntilRender = lastRenderTime + nanosPerRender - previousTime - elapsedSinceLoopStart;
+            sleepUntilNextCycle(Math.min(nanosUntilUpdate, nanosUntilRender));
+        }
+    }
+
+    // sleeps the game loop thread until the next update or render cycle is due
+    // if less than a millisecond is left, it just yields instead since sleep isn't accurate enough at that level
+    private void sleepUntilNextCycle(long nanosToSleep) {
+        if (nanosToSleep >= 1000000L) {
+            try {
+                Thread.sleep(nanosToSleep / 1000000L, (int)(nanosToSleep % 1000000L));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                isRunning = false;
+            }
+        } else {
+            Thread.yield();
+        }
+    }
+}
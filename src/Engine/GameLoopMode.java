@@ -0,0 +1,8 @@
+package Engine;
+
+// Used by the Config class to define which game loop the GamePanel runs off of
+// THREAD -- the engine's own fixed timestep game loop (see GameLoop class)
+// SWING_TIMER -- the original javax.swing.Timer game loop, kept around as a fallback
+public enum GameLoopMode {
+    THREAD, SWING_TIMER
+}
@@ -1,15 +1,10 @@
 package Engine;
 
 import GameObject.Rectangle;
-import Level.LevelState;
-import Level.Player;
-import Screens.PlayLevelScreen;
-import SpriteFont.SpriteFont;
 import Utils.Colors;
 
 import javax.swing.*;
 
-import Game.GameState;
 import Game.ScreenCoordinator;
 
 import java.awt.*;
@@ -18,60 +13,56 @@ import java.awt.event.ActionListener;
 
 /*
  * This is where the game loop starts
- * The JPanel uses a timer to continually call cycles of update and draw
+ * Based on Config.GAME_LOOP_MODE, either the engine's GameLoop thread or a swing timer continually calls cycles of update and draw
+ * The game logic itself is run by the GameController, this class handles getting it into a window
  */
 public class GamePanel extends JPanel {
-// loads Screens on to the JPanel
-// each screen has its own update and draw methods defined to handle a "section"
-// of the game.
-	private ScreenManager screenManager;
-
-// ****
-	private ScreenCoordinator screenCoordinator;
+// runs the actual game logic (update cycles and drawing frames), this class just hooks it up to the screen
+	private final GameController gameController;
 
 // used to create the game loop and cycle between update and draw calls
+// gameLoop is used when Config.GAME_LOOP_MODE is THREAD, timer is used when it is SWING_TIMER
+	private GameLoop gameLoop;
 	private Timer timer;
 
-// used to keep track of the time of game play for the game timer
-	private long startTime, millisPassed, secondsPassed, minutesPassed, pauseTime, currentTime;
-	private boolean wasStarted, timerStart;
+// the game loop thread updates while the swing thread paints, so both hold this lock to never run at the same time
+	private final Object gameLock = new Object();
 
 // used to draw graphics to the panel
 	private GraphicsHandler graphicsHandler;
 
+// when actively rendering (RenderMode.BUFFER_STRATEGY), graphics are drawn to this canvas instead of painted by the JPanel
+	private GameCanvas gameCanvas;
+
+// how far in between the last update cycle and the next one the frame being drawn is (see Interpolation class)
+	private float interpolationAlpha = 1f;
+
 	private boolean doPaint = false;
-	private boolean isGamePaused = false;
-	private SpriteFont pauseLabel, timerLabel;
-	private KeyLocker keyLocker = new KeyLocker();
-	private final Key pauseKey = Key.ESC;
-	private long fixedTimer = 120;
 
 	/*
 	 * The JPanel and various important class instances are setup here
+	 * renderMode determines if the game is actively rendered to a GameCanvas or painted by this JPanel through repaint calls
 	 */
-	public GamePanel() {
+	public GamePanel(RenderMode renderMode) {
 		super();
 		this.setDoubleBuffered(true);
 
-// attaches Keyboard class's keyListener to this JPanel
-		this.addKeyListener(Keyboard.getKeyListener());
-		
-// attaches Mouse class's mouseListener to this JPanel	
-		this.addMouseListener(Mouse.getMouseListener());
-
 		graphicsHandler = new GraphicsHandler();
 
-		screenManager = new ScreenManager();
-		
-		Mouse.setGamePanel(this);
+// for active rendering, a canvas covering the entire JPanel is added which the game draws to directly
+		if (renderMode == RenderMode.BUFFER_STRATEGY) {
+			this.setLayout(new BorderLayout());
+			gameCanvas = new GameCanvas(graphicsHandler);
+			this.add(gameCanvas, BorderLayout.CENTER);
+		}
 
-		pauseLabel = new SpriteFont("PAUSE", 365, 280, "Comic Sans", 24, Color.white);
-		pauseLabel.setOutlineColor(Color.black);
-		pauseLabel.setOutlineThickness(2.0f);
+// attaches Keyboard class's keyListener to the component receiving input (the canvas covers the JPanel when there is one)
+		getInputComponent().addKeyListener(Keyboard.getKeyListener());
 		
+// attaches Mouse class's mouseListener to the component receiving input
+		getInputComponent().addMouseListener(Mouse.getMouseListener());
 
-		// label for the game timer
-		timerLabel = new SpriteFont(minutesPassed + ":" + secondsPassed, 720, 25, "Comic Sans", 24, Color.white);
+		gameController = new GameController();
 
 		// Every timer "tick" will call the update method as well as tell the JPanel to
 		// repaint
@@ -79,18 +70,23 @@ public class GamePanel extends JPanel {
 		// immediately
 		// If the game is really laggy/slow, I would consider upping the FPS in the
 		// Config file.
-		timer = new Timer(1000 / Config.FPS, new ActionListener() {
-			public void actionPerformed(ActionEvent e) {
-				update();
-				repaint();
-			}
-		});
-		timer.setRepeats(true);
+		if (Config.GAME_LOOP_MODE == GameLoopMode.THREAD) {
+			// the game loop thread runs update cycles at a fixed rate and then hands off to render
+			gameLoop = new GameLoop(this::update, this::render);
+		} else {
+			timer = new Timer(1000 / Config.FPS, new ActionListener() {
+				public void actionPerformed(ActionEvent e) {
+					update();
+					render(1f);
+				}
+			});
+			timer.setRepeats(true);
+		}
 	}
 
 // sets the screencoordinator to the one being used
 	public void setScreenCoordinator(ScreenCoordinator sc) {
-		this.screenCoordinator = sc;
+		gameController.setScreenCoordinator(sc);
 	}
 
 // this is called later after instantiation, and will initialize screenManager
@@ -98,113 +94,58 @@ public class GamePanel extends JPanel {
 // JPanel's width and height, which aren't available in the constructor
 	public void setupGame() {
 		setBackground(Colors.CORNFLOWER_BLUE);
-		screenManager.initialize(new Rectangle(getX(), getY(), getWidth(), getHeight()));
+		if (gameCanvas != null) {
+			gameCanvas.setBackground(Colors.CORNFLOWER_BLUE);
+		}
+		gameController.getScreenManager().initialize(new Rectangle(getX(), getY(), getWidth(), getHeight()));
 		doPaint = true;
 	}
 
-// this starts the timer (the game loop is started here)
+// this starts the game loop thread or timer (the game loop is started here)
 	public void startGame() {
-		timer.start();
-		wasStarted = true;
+		gameController.startGame();
+		if (gameLoop != null) {
+			gameLoop.start();
+		} else {
+			timer.start();
+		}
 	}
 
-	public ScreenManager getScreenManager() {
-		return screenManager;
+// the component that should have focus and listen for key and mouse input
+	public Component getInputComponent() {
+		return gameCanvas != null ? gameCanvas : this;
 	}
-	
-	public void switchPauseState() {
-		this.isGamePaused = !isGamePaused;
+
+	public ScreenManager getScreenManager() {
+		return gameController.getScreenManager();
 	}
 
-// only lets the game be paused if the game state is the level
 	public void update() {
-		if (screenCoordinator.getGameState() == GameState.LEVEL) {
-			if (Keyboard.isKeyDown(pauseKey) && !keyLocker.isKeyLocked(pauseKey)) {
-				switchPauseState();
-				keyLocker.lockKey(pauseKey);
-			}
-		}
-
-		if (Keyboard.isKeyUp(pauseKey)) {
-			keyLocker.unlockKey(pauseKey);
+		synchronized (gameLock) {
+			gameController.update();
 		}
-
-		if (!isGamePaused) {
-			screenManager.update();
-		}
-		gameTimer();
 	}
 
-// runs the timer that counts how long the player has been playing 
-	public void gameTimer() {
-		if (PlayLevelScreen.playLevelScreenRunning()) {
-
-			if (wasStarted) {
-				startTime = System.currentTimeMillis();
-				fixedTimer = 120;
-				wasStarted = false;
-				timerStart = true;
-			}
-			//keeps track of how long the game has been paused so it can subtract it from the game timer 
-			if (isGamePaused) {
-				pauseTime = System.currentTimeMillis() - startTime - millisPassed;
-			} else {
-				millisPassed = System.currentTimeMillis() - startTime - pauseTime;
-				// secondsPassed = (millisPassed / 1000);
-						
-				
-				secondsPassed = millisPassed/1000; // converts milliseconds to seconds
-				
-				currentTime = fixedTimer - secondsPassed; // gets fixed time minus the seconds passed for countdown
-				if (currentTime < 0) {
-					currentTime = 0;
-					Player.killPlayer();
+// gets the current frame on to the screen
+// if actively rendering, the frame is drawn and shown right now, otherwise a repaint is scheduled for swing to carry out
+// alpha is how far in between the last update cycle and the next one this frame is
+	public void render(float alpha) {
+		interpolationAlpha = alpha;
+		if (gameCanvas != null) {
+			gameCanvas.render(() -> {
+				if (doPaint) {
+					synchronized (gameLock) {
+						draw();
+					}
 				}
-				
-				
-			}
-
-			String timerString;
-			
-			int sec = (int)currentTime % 60;
-		    int min = ((int)currentTime / 60)%60;
-			
-			 if (sec < 10) {
-				timerString = min + ":0" + sec;
-			} else {
-				timerString = min + ":" + sec;
-			}
-			
-			timerLabel = new SpriteFont(timerString, 720, 25, "Comic Sans", 24, Color.white);
-			timerLabel.setOutlineColor(Color.black);
-			timerLabel.setOutlineThickness(2.0f);
-		} else if (PlayLevelScreen.levelOver()) {
-			startTime = System.currentTimeMillis();
-			wasStarted = false;
-			timerStart = true;
-			pauseTime = 0;
-			minutesPassed = 0;
+			});
+		} else {
+			repaint();
 		}
 	}
 
 	public void draw() {
-		screenManager.draw(graphicsHandler);
-		// draws the timer on the screen when it the play level screen is running 
-		if (timerStart && PlayLevelScreen.playLevelScreenRunning()) {
-			timerLabel.draw(graphicsHandler);
-		}
-
-		// if game is paused, draw pause gfx over Screen gfx
-		if (isGamePaused) {
-			graphicsHandler.drawFilledRectangle(0, 0, ScreenManager.getScreenWidth(), ScreenManager.getScreenHeight(),
-					new Color(0, 0, 0, 100));
-			pauseLabel.draw(graphicsHandler);
-			// Newly added images that represent pause and play
-			graphicsHandler.drawImage(ImageLoader.load("PlayButton.png"), 670, 0,43,43);
-			
-		} else if (PlayLevelScreen.playLevelScreenRunning()) {
-			graphicsHandler.drawImage(ImageLoader.load("PauseButton.png"), 670, 0,43,43);
-		}
+		gameController.draw(graphicsHandler, interpolationAlpha);
 	}
 
 	@Override
@@ -215,7 +156,9 @@ public class GamePanel extends JPanel {
 		// draw method
 		graphicsHandler.setGraphics((Graphics2D) g);
 		if (doPaint) {
-			draw();
+			synchronized (gameLock) {
+				draw();
+			}
 		}
 	}
 }
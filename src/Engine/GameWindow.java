@@ -15,14 +15,17 @@ public class GameWindow {
 
 	public GameWindow() {
 		gameWindow = new JFrame("Game");
-		gamePanel = new GamePanel();
-		gamePanel.setFocusable(true);
-		gamePanel.requestFocusInWindow();
+
+		// the render mode (active rendering to a canvas or swing repaints) is chosen here at startup based on the Config class
+		gamePanel = new GamePanel(Config.RENDER_MODE);
+		gamePanel.getInputComponent().setFocusable(true);
+		gamePanel.getInputComponent().requestFocusInWindow();
 		gameWindow.setContentPane(gamePanel);
 		gameWindow.setResizable(false);
 		gameWindow.setSize(Config.GAME_WINDOW_WIDTH, Config.GAME_WINDOW_HEIGHT);
 		gameWindow.setLocationRelativeTo(null);
 		gameWindow.setVisible(true);
+		gamePanel.getInputComponent().requestFocusInWindow();
 		gameWindow.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE); // it'd be nice if this actually worked more than 1/3rd of the time
 		gamePanel.setupGame();
 	}
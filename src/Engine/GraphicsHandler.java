@@ -20,11 +20,18 @@ public class GraphicsHandler {
 		return g.getFontRenderContext();
 	}
 
+    // hot images (see VolatileImageCache class) are drawn from their copy in video memory when possible
     public void drawImage(BufferedImage image, int x, int y) {
+        if (VolatileImageCache.isEnabled() && VolatileImageCache.draw(g, image, x, y, image.getWidth(), image.getHeight())) {
+            return;
+        }
         g.drawImage(image, x, y, null);
     }
 
     public void drawImage(BufferedImage image, int x, int y, int width, int height) {
+        if (VolatileImageCache.isEnabled() && VolatileImageCache.draw(g, image, x, y, width, height)) {
+            return;
+        }
         g.drawImage(image, x, y, width, height, null);
     }
 
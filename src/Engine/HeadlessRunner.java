@@ -0,0 +1,117 @@
+package Engine;
+
+import Game.ScreenCoordinator;
+import GameObject.Rectangle;
+import Utils.Colors;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/*
+ * Runs the game without a GameWindow or GamePanel, for running screens on a machine with no display (e.g. soak tests and performance runs)
+ * It runs update cycles through a GameController the same way the GamePanel does, just as fast as possible instead of at a fixed rate
+ * Graphics can optionally be drawn to an offscreen image through a GraphicsHandler in order to include draw logic in a run
+ * java.awt.headless should be set to true before anything AWT related is loaded when running on a machine with no display
+ */
+public class HeadlessRunner {
+    private final GameController gameController = new GameController();
+    private final GraphicsHandler graphicsHandler = new GraphicsHandler();
+
+    // offscreen image graphics are drawn to, null if not rendering
+    private BufferedImage frame;
+
+    // how many update cycles to run in between each render (1 = render after every update cycle)
+    private int renderInterval = 1;
+
+    // number of update cycles and renders this runner has done
+    private long updateCount, renderCount;
+
+    // screen bounds are passed in here since there is no JPanel to get them from
+    public HeadlessRunner(int screenWidth, int screenHeight) {
+        gameController.getScreenManager().initialize(new Rectangle(0, 0, screenWidth, screenHeight));
+    }
+
+    public HeadlessRunner() {
+        this(Config.GAME_WINDOW_WIDTH, Config.GAME_WINDOW_HEIGHT);
+    }
+
+    public ScreenManager getScreenManager() {
+        return gameController.getScreenManager();
+    }
+
+    public GameController getGameController() {
+        return gameController;
+    }
+
+    // attach a Screen here for the runner to start calling its update/draw cycles
+    public void setCurrentScreen(Screen screen) {
+        gameController.getScreenManager().setCurrentScreen(screen);
+    }
+
+    // sets the screen coordinator, which lets the game be paused while in a level
+    // assets are loaded without a loading screen, so the number of update cycles a run takes doesn't depend on how fast the disk is
+    public void setScreenCoordinator(ScreenCoordinator screenCoordinator) {
+        screenCoordinator.setLoadInBackground(false);
+        gameController.setScreenCoordinator(screenCoordinator);
+    }
+
+    // called right before the first update cycle, same as when the GamePanel starts its game loop
+    public void startGame() {
+        gameController.startGame();
+    }
+
+    // turns on drawing to an offscreen image every renderInterval update cycles
+    public void enableRendering(int renderInterval) {
+        this.renderInterval = Math.max(1, renderInterval);
+        this.frame = new BufferedImage(ScreenManager.getScreenWidth(), ScreenManager.getScreenHeight(), BufferedImage.TYPE_INT_RGB);
+    }
+
+    // runs one update cycle, and then renders if rendering is enabled and it is time to
+    public void step() {
+        gameController.update();
+        updateCount++;
+
+        if (frame != null && updateCount % renderInterval == 0) {
+            render();
+        }
+    }
+
+    // runs the specified number of update cycles back to back
+    public void run(long numberOfUpdates) {
+        for (long i = 0; i < numberOfUpdates; i++) {
+            step();
+        }
+    }
+
+    // draws the current screen to the offscreen image
+    public void render() {
+        if (frame == null) {
+            return;
+        }
+        Graphics2D graphics = frame.createGraphics();
+        try {
+            graphics.setColor(Colors.CORNFLOWER_BLUE);
+            graphics.fillRect(0, 0, frame.getWidth(), frame.getHeight());
+            graphicsHandler.setGraphics(graphics);
+
+            // everything is drawn exactly where it is, since there is no time in between update cycles when running headless
+            gameController.draw(graphicsHandler, 1f);
+        } finally {
+            graphics.dispose();
+        }
+        renderCount++;
+    }
+
+    // offscreen image the last render was drawn to, null if rendering is not enabled
+    public BufferedImage getFrame() {
+        return frame;
+    }
+
+    public long getUpdateCount() {
+        return updateCount;
+    }
+
+    public long getRenderCount() {
+        return renderCount;
+    }
+}
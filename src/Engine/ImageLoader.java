@@ -3,12 +3,16 @@ package Engine;
 import Utils.ImageUtils;
 
 import javax.imageio.ImageIO;
+import javax.imageio.stream.MemoryCacheImageInputStream;
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 
 // contains a bunch of helpful methods for loading images file into the game
+// images are kept in the AssetCache once loaded, so loading the same image again doesn't go back to disk
+// since loaded images are shared, they should never be drawn on or changed
 public class ImageLoader {
 
     // loads an image and sets its transparent color to the one defined in the Config class
@@ -18,8 +22,45 @@ public class ImageLoader {
 
     // loads an image and allows the transparent color to be specified
     public static BufferedImage load(String imageFileName, Color transparentColor) {
+        return AssetCache.get(imageFileName, transparentColor);
+    }
+
+    // loads an image and makes sure it stays in the AssetCache until release is called for it
+    public static BufferedImage acquire(String imageFileName) {
+        return ImageLoader.acquire(imageFileName, Config.TRANSPARENT_COLOR);
+    }
+
+    // same as above, but allows the transparent color to be specified
+    public static BufferedImage acquire(String imageFileName, Color transparentColor) {
+        return AssetCache.acquire(imageFileName, transparentColor);
+    }
+
+    // lets go of an image that was loaded with acquire
+    public static void release(String imageFileName) {
+        ImageLoader.release(imageFileName, Config.TRANSPARENT_COLOR);
+    }
+
+    // lets go of an image that was loaded with acquire and a transparent color
+    public static void release(String imageFileName, Color transparentColor) {
+        AssetCache.release(imageFileName, transparentColor);
+    }
+
+    // reads an image from disk with its transparent color set, skipping the AssetCache (used by the AssetCache itself)
+    // if Config.BAKE_ASSETS is on, the image's baked version is read instead if there is an up to date one
+    // if Config.COMPATIBLE_IMAGES is on, the image is then converted to match the screen's pixel format so it can be drawn as fast as possible
+    static BufferedImage loadFromFile(String imageFileName, Color transparentColor) {
+        BufferedImage image = Config.BAKE_ASSETS ? AssetBaker.load(imageFileName, transparentColor) : convertFromFile(imageFileName, transparentColor);
+        return Config.COMPATIBLE_IMAGES ? ImageUtils.toCompatibleImage(image) : image;
+    }
+
+    // reads an image file from disk (or the AssetPack if it's in there) and sets its transparent color, skipping both the AssetCache and baked images
+    static BufferedImage convertFromFile(String imageFileName, Color transparentColor) {
         try {
-            BufferedImage initialImage = ImageIO.read(new File(Config.RESOURCES_PATH + imageFileName));
+            // images in the asset pack are decoded straight out of the mapped pack file
+            InputStream packedImage = AssetPack.openStream(Config.RESOURCES_PATH + imageFileName);
+            BufferedImage initialImage = packedImage != null
+                    ? ImageIO.read(new MemoryCacheImageInputStream(packedImage))
+                    : ImageIO.read(new File(Config.RESOURCES_PATH + imageFileName));
             return ImageUtils.transformColorToTransparency(initialImage, transparentColor);
         } catch (IOException e) {
             System.out.println("Unable to find file " + Config.RESOURCES_PATH + imageFileName);
@@ -34,13 +75,6 @@ public class ImageLoader {
 
     // loads a piece of an image from an image file and allows the transparent color to be specified
     public static BufferedImage loadSubImage(String imageFileName, Color transparentColor, int x, int y, int width, int height) {
-        try {
-            BufferedImage initialImage = ImageIO.read(new File(Config.RESOURCES_PATH + imageFileName));
-            BufferedImage transparentImage = ImageUtils.transformColorToTransparency(initialImage, transparentColor);
-            return transparentImage.getSubimage(x, y, width, height);
-        } catch (IOException e) {
-            System.out.println("Unable to find file " + Config.RESOURCES_PATH + imageFileName);
-            throw new RuntimeException(e);
-        }
+        return ImageLoader.load(imageFileName, transparentColor).getSubimage(x, y, width, height);
     }
 }
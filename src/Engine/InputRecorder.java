@@ -0,0 +1,269 @@
+package Engine;
+
+import java.awt.Point;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Records the input latched each update cycle to a file, and can replay a recorded file back in place of the actual keyboard and mouse
+ * Since the GameClock only moves forward by update cycles (not real time), replaying the same input from the same starting point plays out the exact same game
+ * This makes it possible to reproduce a bug from a recording, or to run the same play through headless over and over to compare performance
+ *
+ * A recording file starts with a header (magic number, file version, Config.FPS, and the screen width and height it was recorded at),
+ * followed by one record for each change in input -- a record is how many update cycles it has been since the last record, what type of record it is, and its data
+ * Key records only hold which keys changed since the last key record, so holding down a key for a long time costs nothing
+ */
+public class InputRecorder {
+    // "HSBI" -- used to make sure a file being replayed is actually a recording
+    private static final int MAGIC_NUMBER = 0x48534249;
+    private static final int FILE_VERSION = 1;
+
+    // record types
+    private static final int KEYS_RECORD = 0;
+    private static final int CLICK_RECORD = 1;
+    private static final int END_RECORD = 2;
+
+    // file being recorded to, null if not recording
+    private static DataOutputStream recordStream;
+
+    // file being replayed from, null if not replaying
+    private static DataInputStream replayStream;
+
+    // screen size the recording being replayed was made at
+    private static int replayScreenWidth, replayScreenHeight;
+
+    // number of update cycles since recording or replaying started
+    private static long currentTick;
+
+    // update cycle the last record was written on (when recording) or the next record is due on (when replaying)
+    private static long recordTick;
+
+    // type of the next record to replay, read ahead of time so it's known when it is due
+    private static int nextRecordType;
+
+    // keys that were down as of the last key record
+    private static long recordedKeys;
+
+    // clicks replayed for the current update cycle, refilled every update cycle
+    private static final List<Point> replayedClicks = new ArrayList<>();
+
+    private static boolean isReplayFinished;
+
+    // prevents InputRecorder from being instantiated -- it's my way of making a "static" class like C# has
+    private InputRecorder() { }
+
+    // starts recording all input latched from now on to the given file
+    public static synchronized void startRecording(File file) {
+        if (isActive()) {
+            throw new RuntimeException("Input is already being recorded or replayed");
+        }
+        try {
+            recordStream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+            recordStream.writeInt(MAGIC_NUMBER);
+            recordStream.writeByte(FILE_VERSION);
+            recordStream.writeShort(Config.FPS);
+            recordStream.writeShort(ScreenManager.getScreenWidth());
+            recordStream.writeShort(ScreenManager.getScreenHeight());
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to start recording input to " + file, e);
+        }
+        currentTick = 0;
+        recordTick = 0;
+        recordedKeys = 0;
+    }
+
+    // finishes the recording file, does nothing if not recording
+    public static synchronized void stopRecording() {
+        if (recordStream == null) {
+            return;
+        }
+        try {
+            writeRecordStart(END_RECORD);
+            recordStream.close();
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to finish input recording", e);
+        } finally {
+            recordStream = null;
+        }
+    }
+
+    // starts replaying input from the given file in place of the actual keyboard and mouse
+    public static synchronized void startReplay(File file) {
+        if (isActive()) {
+            throw new RuntimeException("Input is already being recorded or replayed");
+        }
+        try {
+            replayStream = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+            if (replayStream.readInt() != MAGIC_NUMBER) {
+                throw new RuntimeException(file + " is not an input recording");
+            }
+            int fileVersion = replayStream.readUnsignedByte();
+            if (fileVersion != FILE_VERSION) {
+                throw new RuntimeException(file + " is input recording version " + fileVersion + ", expected version " + FILE_VERSION);
+            }
+            // game time is counted in update cycles, so a recording made at a different FPS would play out differently
+            int recordedFps = replayStream.readUnsignedShort();
+            if (recordedFps != Config.FPS) {
+                throw new RuntimeException(file + " was recorded at " + recordedFps + " FPS, but the game is running at " + Config.FPS + " FPS");
+            }
+            replayScreenWidth = replayStream.readUnsignedShort();
+            replayScreenHeight = replayStream.readUnsignedShort();
+
+            currentTick = 0;
+            recordTick = 0;
+            recordedKeys = 0;
+            isReplayFinished = false;
+            readRecordStart();
+            if (nextRecordType == END_RECORD && recordTick == 0) {
+                isReplayFinished = true;
+            }
+        } catch (IOException e) {
+            replayStream = null;
+            throw new RuntimeException("Unable to replay input from " + file, e);
+        } catch (RuntimeException e) {
+            replayStream = null;
+            throw e;
+        }
+    }
+
+    // stops replaying and goes back to reading the actual keyboard and mouse, does nothing if not replaying
+    public static synchronized void stopReplay() {
+        if (replayStream == null) {
+            return;
+        }
+        try {
+            replayStream.close();
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to close input recording", e);
+        } finally {
+            replayStream = null;
+        }
+    }
+
+    public static synchronized boolean isRecording() {
+        return recordStream != null;
+    }
+
+    public static synchronized boolean isReplaying() {
+        return replayStream != null;
+    }
+
+    // true once every record in the file being replayed has been played back
+    public static synchronized boolean isReplayFinished() {
+        return isReplayFinished;
+    }
+
+    // true if input is being recorded or replayed (the game should avoid doing anything that depends on real time while this is the case)
+    public static synchronized boolean isActive() {
+        return recordStream != null || replayStream != null;
+    }
+
+    public static int getReplayScreenWidth() {
+        return replayScreenWidth;
+    }
+
+    public static int getReplayScreenHeight() {
+        return replayScreenHeight;
+    }
+
+    // latches the input for the current update cycle, and then either records it or replaces it with the recorded input
+    // this is called once at the start of every update cycle
+    public static synchronized void latchInput() {
+        Keyboard.latch();
+        Mouse.latch();
+
+        try {
+            if (recordStream != null) {
+                recordInput();
+            } else if (replayStream != null) {
+                replayInput();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to " + (recordStream != null ? "record" : "replay") + " input", e);
+        }
+        currentTick++;
+
+        // the end record is written when recording stops, which is right after the last recorded update cycle
+        // so once it's due, the replay is done before another update cycle is run
+        if (replayStream != null && nextRecordType == END_RECORD && recordTick <= currentTick) {
+            isReplayFinished = true;
+        }
+    }
+
+    private static void recordInput() throws IOException {
+        long keys = Keyboard.getLatchedKeys();
+        if (keys != recordedKeys) {
+            writeRecordStart(KEYS_RECORD);
+            writeVarLong(keys ^ recordedKeys);
+            recordedKeys = keys;
+        }
+        for (Point click : Mouse.getLatchedClicks()) {
+            writeRecordStart(CLICK_RECORD);
+            recordStream.writeShort(click.x);
+            recordStream.writeShort(click.y);
+        }
+    }
+
+    private static void replayInput() throws IOException {
+        replayedClicks.clear();
+        while (!isReplayFinished && nextRecordType != END_RECORD && recordTick == currentTick) {
+            if (nextRecordType == KEYS_RECORD) {
+                recordedKeys ^= readVarLong();
+            } else if (nextRecordType == CLICK_RECORD) {
+                replayedClicks.add(new Point(replayStream.readShort(), replayStream.readShort()));
+            } else {
+                throw new RuntimeException("Input recording has an unknown record type " + nextRecordType);
+            }
+            readRecordStart();
+        }
+        Keyboard.setLatchedKeys(recordedKeys);
+        Mouse.setLatchedClicks(replayedClicks);
+    }
+
+    // every record starts with how many update cycles it has been since the last record, and then the record type
+    private static void writeRecordStart(int recordType) throws IOException {
+        writeVarLong(currentTick - recordTick);
+        recordStream.writeByte(recordType);
+        recordTick = currentTick;
+    }
+
+    private static void readRecordStart() throws IOException {
+        try {
+            recordTick += readVarLong();
+            nextRecordType = replayStream.readUnsignedByte();
+        } catch (EOFException e) {
+            // a recording that was cut off (e.g. the game crashed) just ends wherever it was cut off
+            isReplayFinished = true;
+        }
+    }
+
+    // numbers are written 7 bits at a time, with the 8th bit set if there are more bytes to come, so small numbers only take up one byte
+    private static void writeVarLong(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            recordStream.writeByte((int)((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        recordStream.writeByte((int)value);
+    }
+
+    private static long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = replayStream.readUnsignedByte();
+            value |= (long)(b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new RuntimeException("Input recording is corrupted");
+    }
+}
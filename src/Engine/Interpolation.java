@@ -0,0 +1,34 @@
+package Engine;
+
+/*
+ * Keeps track of what is needed to draw the game in between update cycles
+ * Game logic only moves things once per update cycle, but the game can be rendered more (or less) often than that,
+ * so each render is given an alpha value (0 to 1) of how far along it is to the next update cycle
+ * Anything that moves can then be drawn at a position interpolated between where it was at the start of the latest update cycle and where it is now
+ * The update tick count (from the GameClock) is used by moving things to know whether or not they have already saved off their start of cycle position this update cycle
+ */
+public class Interpolation {
+    // how far along the current render is in between the last update cycle and the next one
+    private static float alpha = 1f;
+
+    // prevents Interpolation from being instantiated -- it's my way of making a "static" class like C# has
+    private Interpolation() { }
+
+    // update cycles are counted by the GameClock
+    public static long getUpdateTick() {
+        return GameClock.getTicks();
+    }
+
+    public static float getAlpha() {
+        return alpha;
+    }
+
+    public static void setAlpha(float alpha) {
+        Interpolation.alpha = Math.max(0f, Math.min(1f, alpha));
+    }
+
+    // gets the value that is "alpha" percent of the way from "from" to "to"
+    public static float lerp(float from, float to, float alpha) {
+        return from + ((to - from) * alpha);
+    }
+}
@@ -45,5 +45,6 @@ public enum Key {
     NINE,
     ZERO,
     SPACE,
-    ESC
+    ESC,
+    F3
 }
@@ -3,39 +3,55 @@ package Engine;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
 import java.util.EnumMap;
-import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /*
  * This class is used throughout the engine for detecting keyboard state
  * This includes if a key is pressed, if a key is not pressed, and if multiple keys are pressed/not pressed at the same time
+ * Key events come in whenever they happen, but the game only sees the key state that was latched at the start of the current update cycle (see latch method)
+ * This way every key check in an update cycle agrees with each other, and the latched state can be recorded and replayed by the InputRecorder
  */
 public class Keyboard {
 
-	// hashmaps keep track of if a key is currently down or up
-	private static final HashMap<Integer, Boolean> keyDown = new HashMap<>();
-	private static final HashMap<Integer, Boolean> keyUp = new HashMap<>();
+	// hashmap keeps track of if a key is currently down or up
+	// this is concurrent since key events come in on the swing thread while the game loop thread latches them
+	private static final ConcurrentHashMap<Integer, Boolean> keyDown = new ConcurrentHashMap<>();
 
 	// maps a Key enum type to its key code
 	private static final EnumMap<Key, Integer> keyMap = buildKeyMap();
 
+	// maps a key code back to its Key enum type (only for key codes the game knows about)
+	private static final ConcurrentHashMap<Integer, Key> keyCodeMap = buildKeyCodeMap();
+
+	// keys that were pressed at any point since the last latch, one bit per Key (by ordinal)
+	// this makes sure a key that is pressed and released in between two update cycles still shows up as down for one update cycle
+	private static final AtomicLong keysPressedSinceLatch = new AtomicLong();
+
+	// keys that are down for the current update cycle, one bit per Key (by ordinal)
+	private static volatile long latchedKeys;
+
 	private static final KeyListener keyListener = new KeyListener() {
         @Override
         public void keyTyped(KeyEvent e) {}
 
         @Override
         public void keyPressed(KeyEvent e) {
-        	// when key is pressed, set its keyDown state to true and its keyUp state to false
+        	// when key is pressed, set its keyDown state to true
             int keyCode = e.getKeyCode();
             keyDown.put(keyCode, true);
-            keyUp.put(keyCode, false);
+
+            Key key = keyCodeMap.get(keyCode);
+            if (key != null) {
+            	keysPressedSinceLatch.getAndAccumulate(getKeyBit(key), (a, b) -> a | b);
+            }
         }
 
         @Override
         public void keyReleased(KeyEvent e) {
-			// when key is released, set its keyDown state to false and its keyUp state to true
+			// when key is released, set its keyDown state to false
 			int keyCode = e.getKeyCode();
             keyDown.put(keyCode, false);
-            keyUp.put(keyCode, true);
         }
     };
 
@@ -46,20 +62,42 @@ public class Keyboard {
     	return keyListener;
     }
 
+    // takes a snapshot of which keys are down right now, which is what the game sees until the next latch
+    // this is called once at the start of every update cycle
+    public static void latch() {
+    	long keys = keysPressedSinceLatch.getAndSet(0);
+    	for (Key key : Key.values()) {
+    		if (keyDown.getOrDefault(keyMap.get(key), false)) {
+    			keys |= getKeyBit(key);
+    		}
+    	}
+    	latchedKeys = keys;
+    }
+
+    // the keys latched for the current update cycle, one bit per Key (by ordinal)
+    public static long getLatchedKeys() {
+    	return latchedKeys;
+    }
+
+    // replaces the latched keys with the ones given instead of reading the actual keyboard (used to replay recorded input)
+    public static void setLatchedKeys(long keys) {
+    	latchedKeys = keys;
+    }
+
     // returns if a key is currently being pressed
     public static boolean isKeyDown(Key key) {
-    	return keyDown.getOrDefault(keyMap.get(key), false);
+    	return (latchedKeys & getKeyBit(key)) != 0;
     }
 
     // returns if a key is currently not being pressed
     public static boolean isKeyUp(Key key) {
-    	return keyUp.getOrDefault(keyMap.get(key), true);
+    	return !isKeyDown(key);
     }
 
     // checks if multiple keys are being pressed at the same time
     public static boolean areKeysDown(Key[] keys) {
     	for (Key key : keys) {
-    		if (!keyDown.getOrDefault(keyMap.get(key), false)) {
+    		if (!isKeyDown(key)) {
     			return false;
     		}
     	}
@@ -69,13 +107,18 @@ public class Keyboard {
 	// checks if multiple keys are not being pressed at the same time
 	public static boolean areKeysUp(Key[] keys) {
     	for (Key key : keys) {
-    		if (!keyUp.getOrDefault(keyMap.get(key), false)) {
+    		if (!isKeyUp(key)) {
     			return false;
     		}
     	}
     	return true;
     }
 
+    // each Key gets its own bit in a long, so there can't be more than 64 Keys
+    private static long getKeyBit(Key key) {
+    	return 1L << key.ordinal();
+    }
+
     // maps a Key enum type to its keycode
 	// Java keycodes were found here: https://stackoverflow.com/a/31637206
     private static EnumMap<Key, Integer> buildKeyMap() {
@@ -125,6 +168,19 @@ public class Keyboard {
 				 put(Key.ZERO, 48);
 				 put(Key.SPACE, 32);
 				 put(Key.ESC, 27);
+				 put(Key.F3, 114);
 			}};
     }
+
+    // reverse of the key map, used to find out which Key a key event is for
+    private static ConcurrentHashMap<Integer, Key> buildKeyCodeMap() {
+    	if (Key.values().length > 64) {
+    		throw new RuntimeException("Keyboard can only latch up to 64 keys");
+    	}
+    	ConcurrentHashMap<Integer, Key> keyCodeMap = new ConcurrentHashMap<>();
+    	for (Key key : keyMap.keySet()) {
+    		keyCodeMap.put(keyMap.get(key), key);
+    	}
+    	return keyCodeMap;
+    }
 }
@@ -1,7 +1,11 @@
 package Engine;
 
+import java.awt.Point;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import Game.GameState;
 import Game.ScreenCoordinator;
@@ -11,6 +15,8 @@ import SpriteFont.SpriteFont;
 /*
  * This class is used throughout the engine for detecting mouse state
  * This includes if a mouse is clicked
+ * Clicks come in whenever they happen, but are only acted on at the start of an update cycle (see latch and processClicks methods)
+ * This way clicks always happen at the same point in the game, and the latched clicks can be recorded and replayed by the InputRecorder
  */
 public class Mouse {
 	private static SpriteFont playGame;
@@ -23,73 +29,21 @@ public class Mouse {
 	
 	private static ScreenCoordinator screenCoordinator;
 	
-	private static GamePanel gamePanel;
+	private static GameController gameController;
+
+	// clicks that have come in since the last latch
+	// this is concurrent since mouse events come in on the swing thread while the game loop thread latches them
+	private static final ConcurrentLinkedQueue<Point> pendingClicks = new ConcurrentLinkedQueue<>();
+
+	// clicks that will be acted on in the current update cycle
+	// the same list is refilled every update cycle, so nothing is allocated on a cycle without any clicks
+	private static final List<Point> latchedClicks = new ArrayList<>();
 	
 	private static final MouseListener mouseListener = new MouseListener() {
 
 		@Override
 		public void mouseClicked(MouseEvent e) {
-			// Checks if the game state is menu screen to avoid other mouse detections
-			if (screenCoordinator.getGameState() == GameState.MENU) {
-				// gets mouse position on X and Y axis
-				int mousex = e.getX();
-				int mousey = e.getY();
-				
-				// This section gets the x and y location of sprite font along with the size of sprite font
-				int minxplayGame = Math.round(playGame.getX());
-				int minyplayGame = Math.round(playGame.getY() - 30);
-				int maxxplayGame = (int) (minxplayGame + playGame.getWidth(playGame.getText()));
-				int maxyplayGame = (int) (minyplayGame + playGame.getHeight(playGame.getText())); 
-				
-				int minxcredits = Math.round(credits.getX());
-				int minycredits = Math.round(credits.getY() - 30);
-				int maxxcredits = (int) (minxcredits + credits.getWidth(credits.getText()));
-				int maxycredits = (int) (minycredits + credits.getHeight(credits.getText())); 
-				
-				int minxhowTo = Math.round(howTo.getX());
-				int minyhowTo = Math.round(howTo.getY() - 30);
-				int maxxhowTo = (int) (minxhowTo + howTo.getWidth(howTo.getText()));
-				int maxyhowTo = (int) (minyhowTo + howTo.getHeight(howTo.getText())); 
-				
-				int minxchooseAvatar = Math.round(chooseAvatar.getX());
-				int minychooseAvatar = Math.round(chooseAvatar.getY() - 30);
-				int maxxchooseAvatar = (int) (minxchooseAvatar + chooseAvatar.getWidth(chooseAvatar.getText()));
-				int maxychooseAvatar = (int) (minychooseAvatar + chooseAvatar.getHeight(chooseAvatar.getText())); 
-				
-				// If the mouse is within bounds of the sprite font (the area of sprite font) then go to that game state
-				if ((mousex >= minxplayGame && mousex <= maxxplayGame) && (mousey >= minyplayGame && mousey <= maxyplayGame)) {
-				    //System.out.println("Clicked on the play game.");
-				    screenCoordinator.setGameState(GameState.LEVEL);
-				} else if ((mousex >= minxcredits && mousex <= maxxcredits) && (mousey >= minycredits && mousey <= maxycredits)) {
-				    //System.out.println("Clicked on the credits.");
-				    screenCoordinator.setGameState(GameState.CREDITS);
-				} else if ((mousex >= minxhowTo && mousex <= maxxhowTo) && (mousey >= minyhowTo && mousey <= maxyhowTo)) {
-				   // System.out.println("Clicked on the how to.");
-				    screenCoordinator.setGameState(GameState.HOWTO);
-				} else if ((mousex >= minxchooseAvatar && mousex <= maxxchooseAvatar) && (mousey >= minychooseAvatar && mousey <= maxychooseAvatar)) {
-				    //System.out.println("Clicked on the avatar choosing.");
-				    screenCoordinator.setGameState(GameState.CHOOSEAVATAR);
-				}
-			} else if (PlayLevelScreen.playLevelScreenRunning() == true) {
-				// gets mouse position on X and Y axis
-				int mousex = e.getX();
-				int mousey = e.getY();
-				
-				// This section gets the x and y location of pause/play button area
-				// NOTE: Reconfigure the locations if you change location of pause/play button 
-				// (I know this is inefficient but this worked within the time constraint we had)
-				int minxButton = 670;
-				int minyButton = 10;
-				
-				int maxxButton = (int) (705);
-				int maxyButton = (int) (32); 
-				
-				// If the mouse is within bounds of the pause/play button (the area of pause/play button) then switch pause state
-				if ((mousex >= minxButton && mousex <= maxxButton) && (mousey >= minyButton && mousey <= maxyButton)) {
-				    //System.out.println("Clicked on the play game.");
-					gamePanel.switchPauseState();
-				}
-			}
+			pendingClicks.add(new Point(e.getX(), e.getY()));
 		}
 
 		@Override
@@ -107,10 +61,96 @@ public class Mouse {
 
 	// prevents Mouse from being instantiated -- it's my way of making a "static" class like C# has
 	private Mouse() { }
+
+	// takes all clicks that have come in since the last latch, which are what the game sees this update cycle
+	// this is called once at the start of every update cycle
+	public static void latch() {
+		latchedClicks.clear();
+		Point click;
+		while ((click = pendingClicks.poll()) != null) {
+			latchedClicks.add(click);
+		}
+	}
+
+	// the clicks latched for the current update cycle
+	public static List<Point> getLatchedClicks() {
+		return latchedClicks;
+	}
+
+	// replaces the latched clicks with the ones given instead of reading the actual mouse (used to replay recorded input)
+	public static void setLatchedClicks(List<Point> clicks) {
+		latchedClicks.clear();
+		latchedClicks.addAll(clicks);
+	}
+
+	// acts on each click latched for the current update cycle
+	public static void processClicks() {
+		for (Point click : latchedClicks) {
+			handleClick(click.x, click.y);
+		}
+	}
+
+	// runs what a click at the given position does, which depends on what screen the game is on
+	private static void handleClick(int mousex, int mousey) {
+		// Checks if the game state is menu screen to avoid other mouse detections
+		if (screenCoordinator != null && screenCoordinator.getGameState() == GameState.MENU) {
+			
+			// This section gets the x and y location of sprite font along with the size of sprite font
+			int minxplayGame = Math.round(playGame.getX());
+			int minyplayGame = Math.round(playGame.getY() - 30);
+			int maxxplayGame = (int) (minxplayGame + playGame.getWidth(playGame.getText()));
+			int maxyplayGame = (int) (minyplayGame + playGame.getHeight(playGame.getText())); 
+			
+			int minxcredits = Math.round(credits.getX());
+			int minycredits = Math.round(credits.getY() - 30);
+			int maxxcredits = (int) (minxcredits + credits.getWidth(credits.getText()));
+			int maxycredits = (int) (minycredits + credits.getHeight(credits.getText())); 
+			
+			int minxhowTo = Math.round(howTo.getX());
+			int minyhowTo = Math.round(howTo.getY() - 30);
+			int maxxhowTo = (int) (minxhowTo + howTo.getWidth(howTo.getText()));
+			int maxyhowTo = (int) (minyhowTo + howTo.getHeight(howTo.getText())); 
+			
+			int minxchooseAvatar = Math.round(chooseAvatar.getX());
+			int minychooseAvatar = Math.round(chooseAvatar.getY() - 30);
+			int maxxchooseAvatar = (int) (minxchooseAvatar + chooseAvatar.getWidth(chooseAvatar.getText()));
+			int maxychooseAvatar = (int) (minychooseAvatar + chooseAvatar.getHeight(chooseAvatar.getText())); 
+			
+			// If the mouse is within bounds of the sprite font (the area of sprite font) then go to that game state
+			if ((mousex >= minxplayGame && mousex <= maxxplayGame) && (mousey >= minyplayGame && mousey <= maxyplayGame)) {
+			    //System.out.println("Clicked on the play game.");
+			    screenCoordinator.setGameState(GameState.LEVEL);
+			} else if ((mousex >= minxcredits && mousex <= maxxcredits) && (mousey >= minycredits && mousey <= maxycredits)) {
+			    //System.out.println("Clicked on the credits.");
+			    screenCoordinator.setGameState(GameState.CREDITS);
+			} else if ((mousex >= minxhowTo && mousex <= maxxhowTo) && (mousey >= minyhowTo && mousey <= maxyhowTo)) {
+			   // System.out.println("Clicked on the how to.");
+			    screenCoordinator.setGameState(GameState.HOWTO);
+			} else if ((mousex >= minxchooseAvatar && mousex <= maxxchooseAvatar) && (mousey >= minychooseAvatar && mousey <= maxychooseAvatar)) {
+			    //System.out.println("Clicked on the avatar choosing.");
+			    screenCoordinator.setGameState(GameState.CHOOSEAVATAR);
+			}
+		} else if (PlayLevelScreen.playLevelScreenRunning() == true) {
+			// This section gets the x and y location of pause/play button area
+			// NOTE: Reconfigure the locations if you change location of pause/play button 
+			// (I know this is inefficient but this worked within the time constraint we had)
+			int minxButton = 670;
+			int minyButton = 10;
+			
+			int maxxButton = (int) (705);
+			int maxyButton = (int) (32); 
+			
+			// If the mouse is within bounds of the pause/play button (the area of pause/play button) then switch pause state
+			if ((mousex >= minxButton && mousex <= maxxButton) && (mousey >= minyButton && mousey <= maxyButton)) {
+			    //System.out.println("Clicked on the play game.");
+				gameController.switchPauseState();
+			}
+		}
+	}
 	
-	// sets the game panel to switch the pause states
-	public static void setGamePanel(GamePanel gPanel) {
-		gamePanel = gPanel;
+	// sets the game controller to switch the pause states
+	public static void setGameController(GameController gController) {
+		gameController = gController;
     }
 	
 	// sets the screen coordinator to get the game states
@@ -0,0 +1,24 @@
+package Engine;
+
+// Used by the FrameProfiler class to define which part of a frame a measured amount of time was spent in
+// The label is what the profiler overlay shows for each section
+public enum ProfilerSection {
+    UPDATE("Update"),
+    PLAYER_UPDATE("  Player.update"),
+    MAP_TILE_UPDATE("  Map tiles update"),
+    MAP_ENTITY_UPDATE("  Map entities update"),
+    DRAW("Draw"),
+    DRAW_MAP_TILES("  Camera.drawMapTiles"),
+    DRAW_MAP_ENTITIES("  Camera.drawMapEntities"),
+    DRAW_HUD("  HUD");
+
+    private final String label;
+
+    ProfilerSection(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
@@ -0,0 +1,8 @@
+package Engine;
+
+// Used by the Config class to define how the GamePanel gets its graphics onto the screen
+// BUFFER_STRATEGY -- active rendering, the game draws to a GameCanvas's back buffer and flips it to the screen itself (see GameCanvas class)
+// SWING_REPAINT -- the original approach, the game schedules a repaint and swing paints the JPanel whenever it gets around to it
+public enum RenderMode {
+    BUFFER_STRATEGY, SWING_REPAINT
+}
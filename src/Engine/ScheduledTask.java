@@ -0,0 +1,41 @@
+package Engine;
+
+/*
+ * Represents a callback that has been scheduled to run on a TimerWheel after a delay
+ * Holding on to this allows the callback to be cancelled before it runs (e.g. if the entity that scheduled it gets reset)
+ * It also doubles as a node in the linked list of tasks each TimerWheel slot holds, which is why it has next/previous links
+ */
+public class ScheduledTask {
+    // wheel this task is scheduled on, null if it is not (or no longer) scheduled
+    TimerWheel timerWheel;
+
+    // tick this task is set to run on
+    long expirationTick;
+
+    final Runnable callback;
+
+    // location of this task in the timer wheel
+    int level, slot;
+    ScheduledTask previous, next;
+
+    ScheduledTask(long expirationTick, Runnable callback) {
+        this.expirationTick = expirationTick;
+        this.callback = callback;
+    }
+
+    // stops this task from running if it hasn't already, does nothing otherwise
+    public void cancel() {
+        if (timerWheel != null) {
+            timerWheel.remove(this);
+        }
+    }
+
+    // returns true if this task is still waiting to run
+    public boolean isScheduled() {
+        return timerWheel != null;
+    }
+
+    public long getExpirationTick() {
+        return expirationTick;
+    }
+}
@@ -0,0 +1,187 @@
+package Engine;
+
+import GameObject.ImageEffect;
+import Utils.ImageUtils;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+
+/*
+ * Holds on to copies of sprite images that are already scaled to the size they get drawn at and have their image effect (flipping) applied
+ * Almost every sprite in the game is drawn scaled up (and a lot of them flipped), which makes every draw a scaled (and sometimes mirrored) copy of the image
+ * Drawing one of these copies instead is a plain 1:1 copy, which is a lot less work
+ *
+ * Copies are looked up by the exact image object they were made from (not its contents), along with their size and image effect
+ * If the copies take up more than Config.SPRITE_VARIANT_CACHE_MEMORY_BUDGET, the least recently drawn ones are let go of, and will be made again if they're drawn again
+ * Each variant notes down when it was last drawn without locking the cache, and variants are only sorted by that when some have to be let go of (which only happens when a new one is made)
+ */
+public class SpriteVariantCache {
+
+    // a scaled and flipped copy of an image
+    // sprites hold on to the variant they last drew so they don't have to look it up (or lock the cache) every time they're drawn, which is why its image is let go of here when it's evicted
+    public static class Variant {
+        private final BufferedImage source;
+        private final int width, height;
+        private final ImageEffect imageEffect;
+        private final long sizeInBytes;
+        private volatile BufferedImage image;
+        private volatile long lastUsed;
+
+        private Variant(BufferedImage source, int width, int height, ImageEffect imageEffect, BufferedImage image) {
+            this.source = source;
+            this.width = width;
+            this.height = height;
+            this.imageEffect = imageEffect;
+            this.image = image;
+            this.sizeInBytes = (long)width * height * 4;
+        }
+
+        // if this is the variant for this image at this size with this image effect
+        public boolean isFor(BufferedImage source, int width, int height, ImageEffect imageEffect) {
+            return this.source == source && this.width == width && this.height == height && this.imageEffect == imageEffect;
+        }
+
+        // the scaled and flipped copy, null if it has been evicted from the cache (in which case it needs to be asked for again)
+        public BufferedImage getImage() {
+            lastUsed = useCounter++;
+            return image;
+        }
+    }
+
+    // used to look up a variant without caring which Variant object it is
+    private static class Key {
+        private final BufferedImage source;
+        private final int width, height;
+        private final ImageEffect imageEffect;
+
+        private Key(BufferedImage source, int width, int height, ImageEffect imageEffect) {
+            this.source = source;
+            this.width = width;
+            this.height = height;
+            this.imageEffect = imageEffect;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key)other;
+            return source == key.source && width == key.width && height == key.height && imageEffect == key.imageEffect;
+        }
+
+        @Override
+        public int hashCode() {
+            return ((System.identityHashCode(source) * 31 + width) * 31 + height) * 31 + imageEffect.ordinal();
+        }
+    }
+
+    // once the cache goes over its memory budget, variants are let go of until it's down to this much of the budget, so sorting them doesn't happen on every new variant
+    private static final double EVICT_TO_BUDGET_FRACTION = 0.75;
+
+    private static final HashMap<Key, Variant> variants = new HashMap<>();
+
+    // total size of every variant in the cache
+    private static long sizeInBytes;
+
+    // goes up every time a variant is drawn, used to figure out which variants were drawn least recently
+    // this is only ever bumped from the thread doing the drawing, so it's fine that it isn't atomic
+    private static volatile long useCounter;
+
+    // kept around so a new list isn't made every time variants are evicted
+    private static final ArrayList<Variant> evictionOrder = new ArrayList<>();
+
+    private static long hitCount, missCount, evictionCount;
+
+    // prevents SpriteVariantCache from being instantiated -- it's my way of making a "static" class like C# has
+    private SpriteVariantCache() { }
+
+    public static boolean isEnabled() {
+        return Config.SPRITE_VARIANT_CACHE;
+    }
+
+    // returns the variant of an image at the given size with the image effect applied, making it if it isn't in the cache
+    public static synchronized Variant getVariant(BufferedImage source, int width, int height, ImageEffect imageEffect) {
+        Key key = new Key(source, width, height, imageEffect);
+        Variant variant = variants.get(key);
+        if (variant != null) {
+            hitCount++;
+            variant.lastUsed = useCounter++;
+            return variant;
+        }
+
+        missCount++;
+        BufferedImage image = ImageUtils.createVariant(source, width, height, imageEffect);
+        if (Config.COMPATIBLE_IMAGES) {
+            image = ImageUtils.toCompatibleImage(image);
+        }
+        variant = new Variant(source, width, height, imageEffect, image);
+        variant.lastUsed = useCounter++;
+        variants.put(key, variant);
+        sizeInBytes += variant.sizeInBytes;
+        evictIfOverBudget(variant);
+        return variant;
+    }
+
+    // once the cache is over its memory budget, lets go of the least recently drawn variants until it's down to EVICT_TO_BUDGET_FRACTION of the budget (never the one that was just made)
+    private static void evictIfOverBudget(Variant newestVariant) {
+        if (sizeInBytes <= Config.SPRITE_VARIANT_CACHE_MEMORY_BUDGET) {
+            return;
+        }
+        evictionOrder.clear();
+        for (Variant variant : variants.values()) {
+            if (variant != newestVariant) {
+                evictionOrder.add(variant);
+            }
+        }
+        evictionOrder.sort(Comparator.comparingLong(variant -> variant.lastUsed));
+
+        long targetSizeInBytes = (long)(Config.SPRITE_VARIANT_CACHE_MEMORY_BUDGET * EVICT_TO_BUDGET_FRACTION);
+        for (int i = 0; i < evictionOrder.size() && sizeInBytes > targetSizeInBytes; i++) {
+            Variant variant = evictionOrder.get(i);
+            variants.remove(new Key(variant.source, variant.width, variant.height, variant.imageEffect));
+            variant.image = null;
+            sizeInBytes -= variant.sizeInBytes;
+            evictionCount++;
+        }
+        evictionOrder.clear();
+    }
+
+    // lets go of every variant
+    public static synchronized void clear() {
+        Iterator<Variant> iterator = variants.values().iterator();
+        while (iterator.hasNext()) {
+            iterator.next().image = null;
+            iterator.remove();
+        }
+        sizeInBytes = 0;
+    }
+
+    public static synchronized int getSize() {
+        return variants.size();
+    }
+
+    public static synchronized long getSizeInBytes() {
+        return sizeInBytes;
+    }
+
+    public static synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public static synchronized long getMissCount() {
+        return missCount;
+    }
+
+    public static synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public static synchronized String getStats() {
+        return String.format("%d variants (%.1f MB) -- %d hits, %d misses, %d evictions",
+                variants.size(), sizeInBytes / (1024.0 * 1024.0), hitCount, missCount, evictionCount);
+    }
+}
@@ -0,0 +1,313 @@
+package Engine;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/*
+ * Packs every sprite from every sprite sheet into a small number of large images ("pages"), instead of each sprite sheet being its own image
+ * A sprite sheet is added the first time a SpriteSheet is made from it, and from then on every sprite the SpriteSheet hands out is a piece of an atlas page
+ * Each sprite is also handed out as the exact same image object every time it's asked for, which lets anything caching by image (like the SpriteVariantCache) share work between sprites
+ *
+ * Sprites are packed onto pages using a "skyline" bin packer -- each page keeps track of the outline of the tops of the sprites packed into it so far (the skyline),
+ * and each new sprite is placed wherever along the skyline it ends up lowest on the page (leftmost if there's a tie)
+ * Sprite sheets with sprites too big to fit on a page are left as they are
+ *
+ * Sprites handed out from the atlas are pieces of its pages, which anything (a map's tiles, an entity's frames) can keep drawing for as long as it likes, so nothing packed is ever removed
+ * Instead, the AssetCache never lets go of a sprite sheet image that was packed (see containsImage), so loading it again hands back the same image and it's never packed a second time
+ */
+public class TextureAtlas {
+    // empty space left around each sprite on a page, so drawing one sprite can never pull in pixels from the one next to it
+    private static final int PADDING = 1;
+
+    // one piece of the skyline -- a flat stretch of the page's packed outline starting at x, width pixels wide, with everything below y taken up
+    private static class SkylineSegment {
+        private int x, y, width;
+
+        private SkylineSegment(int x, int y, int width) {
+            this.x = x;
+            this.y = y;
+            this.width = width;
+        }
+    }
+
+    // one atlas page and the skyline of what's been packed into it so far
+    private static class Page {
+        private final BufferedImage image;
+        private final ArrayList<SkylineSegment> skyline = new ArrayList<>();
+        private long usedArea;
+
+        private Page(int size) {
+            // pages are made to match the screen's pixel format up front, since sprites are handed out as pieces of them and can't be converted afterwards
+            BufferedImage pageImage = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+            if (Config.COMPATIBLE_IMAGES && !GraphicsEnvironment.isHeadless()) {
+                pageImage = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration()
+                        .createCompatibleImage(size, size, Transparency.TRANSLUCENT);
+            }
+            image = pageImage;
+            skyline.add(new SkylineSegment(0, 0, size));
+        }
+
+        // finds where a rectangle of this size would go on this page, or null if it doesn't fit anywhere
+        private Point findPosition(int width, int height) {
+            Point bestPosition = null;
+            for (int i = 0; i < skyline.size(); i++) {
+                int y = getFitY(i, width);
+                if (y >= 0 && y + height <= image.getHeight()
+                        && (bestPosition == null || y < bestPosition.y)) {
+                    bestPosition = new Point(skyline.get(i).x, y);
+                }
+            }
+            return bestPosition;
+        }
+
+        // how high a rectangle starting at the given skyline segment would have to sit to be above every segment it stretches over, -1 if it runs off the page
+        private int getFitY(int segmentIndex, int width) {
+            int x = skyline.get(segmentIndex).x;
+            if (x + width > image.getWidth()) {
+                return -1;
+            }
+            int y = 0;
+            int widthLeft = width;
+            for (int i = segmentIndex; widthLeft > 0; i++) {
+                SkylineSegment segment = skyline.get(i);
+                y = Math.max(y, segment.y);
+                widthLeft -= segment.width;
+            }
+            return y;
+        }
+
+        // raises the skyline where a rectangle was just placed
+        private void addToSkyline(int x, int y, int width, int height) {
+            SkylineSegment newSegment = new SkylineSegment(x, y + height, width);
+            int insertIndex = 0;
+            while (insertIndex < skyline.size() && skyline.get(insertIndex).x < x) {
+                insertIndex++;
+            }
+            skyline.add(insertIndex, newSegment);
+
+            // segments covered by the new one are shortened or removed
+            int newSegmentEnd = x + width;
+            for (int i = insertIndex + 1; i < skyline.size(); ) {
+                SkylineSegment segment = skyline.get(i);
+                if (segment.x >= newSegmentEnd) {
+                    break;
+                }
+                int segmentEnd = segment.x + segment.width;
+                if (segmentEnd <= newSegmentEnd) {
+                    skyline.remove(i);
+                } else {
+                    segment.width = segmentEnd - newSegmentEnd;
+                    segment.x = newSegmentEnd;
+                    break;
+                }
+            }
+
+            // next to each other segments at the same height are merged into one
+            for (int i = 0; i < skyline.size() - 1; ) {
+                SkylineSegment segment = skyline.get(i);
+                SkylineSegment nextSegment = skyline.get(i + 1);
+                if (segment.y == nextSegment.y) {
+                    segment.width += nextSegment.width;
+                    skyline.remove(i + 1);
+                } else {
+                    i++;
+                }
+            }
+            usedArea += (long)width * height;
+        }
+    }
+
+    // where a sprite ended up in the atlas -- which page, where on that page, and the piece of the page image that is the sprite
+    public static class Region {
+        private final int pageNumber;
+        private final Rectangle bounds;
+        private final BufferedImage image;
+
+        private Region(int pageNumber, Rectangle bounds, BufferedImage image) {
+            this.pageNumber = pageNumber;
+            this.bounds = bounds;
+            this.image = image;
+        }
+
+        public int getPageNumber() {
+            return pageNumber;
+        }
+
+        public Rectangle getBounds() {
+            return new Rectangle(bounds);
+        }
+
+        public BufferedImage getImage() {
+            return image;
+        }
+    }
+
+    // a sprite sheet that has been packed -- the same image cut up into sprites of a different size is a different sprite sheet
+    // the image is compared by identity, since two different images can have the same pixels
+    private static class SpriteSheetKey {
+        private final BufferedImage image;
+        private final int spriteWidth, spriteHeight;
+
+        private SpriteSheetKey(BufferedImage image, int spriteWidth, int spriteHeight) {
+            this.image = image;
+            this.spriteWidth = spriteWidth;
+            this.spriteHeight = spriteHeight;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof SpriteSheetKey)) {
+                return false;
+            }
+            SpriteSheetKey otherKey = (SpriteSheetKey)other;
+            return image == otherKey.image && spriteWidth == otherKey.spriteWidth && spriteHeight == otherKey.spriteHeight;
+        }
+
+        @Override
+        public int hashCode() {
+            return (System.identityHashCode(image) * 31 + spriteWidth) * 31 + spriteHeight;
+        }
+    }
+
+    private static final ArrayList<Page> pages = new ArrayList<>();
+
+    // lookup table for each sprite sheet that has been packed, of where each of its sprites ended up -- indexed by [row][column]
+    // sprite sheets that couldn't be packed map to null
+    private static final HashMap<SpriteSheetKey, Region[][]> regions = new HashMap<>();
+
+    // every sprite sheet image that has sprites packed onto the atlas pages
+    private static final Set<BufferedImage> packedImages = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    // prevents TextureAtlas from being instantiated -- it's my way of making a "static" class like C# has
+    private TextureAtlas() { }
+
+    public static boolean isEnabled() {
+        return Config.TEXTURE_ATLAS;
+    }
+
+    // packs every sprite in a sprite sheet image onto the atlas pages (if it hasn't been already)
+    // sprites are laid out the way SpriteSheet expects -- spriteWidth by spriteHeight with a 1 pixel gap in between each one
+    public static synchronized void addSpriteSheet(BufferedImage spriteSheetImage, int spriteWidth, int spriteHeight) {
+        SpriteSheetKey key = new SpriteSheetKey(spriteSheetImage, spriteWidth, spriteHeight);
+        if (regions.containsKey(key)) {
+            return;
+        }
+        int pageSize = Config.TEXTURE_ATLAS_PAGE_SIZE;
+        if (spriteWidth <= 0 || spriteHeight <= 0 || spriteWidth + PADDING > pageSize || spriteHeight + PADDING > pageSize) {
+            regions.put(key, null);
+            return;
+        }
+
+        int rowCount = (spriteSheetImage.getHeight() + 1) / (spriteHeight + 1);
+        int columnCount = (spriteSheetImage.getWidth() + 1) / (spriteWidth + 1);
+        Region[][] spriteSheetRegions = new Region[rowCount][columnCount];
+        for (int row = 0; row < rowCount; row++) {
+            for (int column = 0; column < columnCount; column++) {
+                BufferedImage sprite = spriteSheetImage.getSubimage((column * spriteWidth) + column, (row * spriteHeight) + row, spriteWidth, spriteHeight);
+                spriteSheetRegions[row][column] = pack(sprite);
+            }
+        }
+        regions.put(key, spriteSheetRegions);
+        packedImages.add(spriteSheetImage);
+    }
+
+    // returns if a sprite sheet image has sprites packed onto the atlas pages, in which case the AssetCache keeps it around for good
+    public static synchronized boolean containsImage(BufferedImage spriteSheetImage) {
+        return packedImages.contains(spriteSheetImage);
+    }
+
+    // copies every sprite of a sprite sheet image that was already packed onto the atlas pages again, for when the sprite sheet image changed (used by the AssetHotReloader)
+    // each sprite goes back in the same spot, so sprites handed out before this show the change too
+    public static synchronized void refreshSpriteSheet(BufferedImage spriteSheetImage) {
+        for (Map.Entry<SpriteSheetKey, Region[][]> entry : regions.entrySet()) {
+            if (entry.getKey().image == spriteSheetImage && entry.getValue() != null) {
+                refreshRegions(spriteSheetImage, entry.getValue());
+            }
+        }
+    }
+
+    private static void refreshRegions(BufferedImage spriteSheetImage, Region[][] spriteSheetRegions) {
+        for (int row = 0; row < spriteSheetRegions.length; row++) {
+            for (int column = 0; column < spriteSheetRegions[row].length; column++) {
+                Region region = spriteSheetRegions[row][column];
+                int spriteWidth = region.bounds.width;
+                int spriteHeight = region.bounds.height;
+                BufferedImage sprite = spriteSheetImage.getSubimage((column * spriteWidth) + column, (row * spriteHeight) + row, spriteWidth, spriteHeight);
+                Graphics2D g = pages.get(region.pageNumber).image.createGraphics();
+                g.setComposite(AlphaComposite.Src);
+                g.drawImage(sprite, region.bounds.x, region.bounds.y, null);
+                g.dispose();
+            }
+        }
+    }
+
+    // returns where the sprite at the given row and column of a sprite sheet is in the atlas, or null if that sprite isn't in the atlas
+    public static synchronized Region getRegion(BufferedImage spriteSheetImage, int spriteWidth, int spriteHeight, int row, int column) {
+        Region[][] spriteSheetRegions = regions.get(new SpriteSheetKey(spriteSheetImage, spriteWidth, spriteHeight));
+        if (spriteSheetRegions == null || row < 0 || row >= spriteSheetRegions.length || column < 0 || column >= spriteSheetRegions[row].length) {
+            return null;
+        }
+        return spriteSheetRegions[row][column];
+    }
+
+    // returns the sprite at the given row and column of a sprite sheet from the atlas, or null if that sprite isn't in the atlas
+    public static BufferedImage getSprite(BufferedImage spriteSheetImage, int spriteWidth, int spriteHeight, int row, int column) {
+        Region region = getRegion(spriteSheetImage, spriteWidth, spriteHeight, row, column);
+        return region != null ? region.image : null;
+    }
+
+    // copies a sprite onto the first page it fits on (starting a new page if it doesn't fit on any), and returns where it was copied to
+    private static Region pack(BufferedImage sprite) {
+        int width = sprite.getWidth() + PADDING;
+        int height = sprite.getHeight() + PADDING;
+        int pageNumber = 0;
+        Point position = null;
+        for (; pageNumber < pages.size(); pageNumber++) {
+            position = pages.get(pageNumber).findPosition(width, height);
+            if (position != null) {
+                break;
+            }
+        }
+        if (position == null) {
+            pages.add(new Page(Config.TEXTURE_ATLAS_PAGE_SIZE));
+            position = pages.get(pageNumber).findPosition(width, height);
+        }
+        Page page = pages.get(pageNumber);
+        page.addToSkyline(position.x, position.y, width, height);
+
+        Graphics2D g = page.image.createGraphics();
+        g.setComposite(AlphaComposite.Src);
+        g.drawImage(sprite, position.x, position.y, null);
+        g.dispose();
+        Rectangle bounds = new Rectangle(position.x, position.y, sprite.getWidth(), sprite.getHeight());
+        return new Region(pageNumber, bounds, page.image.getSubimage(bounds.x, bounds.y, bounds.width, bounds.height));
+    }
+
+    public static synchronized int getPageCount() {
+        return pages.size();
+    }
+
+    // the atlas page image with the given page number (pages should never be drawn on)
+    public static synchronized BufferedImage getPage(int pageNumber) {
+        return pages.get(pageNumber).image;
+    }
+
+    // how much of the atlas pages (from 0 to 1) has sprites packed into it
+    public static synchronized double getPackedRatio() {
+        if (pages.isEmpty()) {
+            return 0;
+        }
+        long pageArea = (long)Config.TEXTURE_ATLAS_PAGE_SIZE * Config.TEXTURE_ATLAS_PAGE_SIZE;
+        long usedArea = 0;
+        for (Page page : pages) {
+            usedArea += page.usedArea;
+        }
+        return (double)usedArea / (pageArea * pages.size());
+    }
+}
@@ -0,0 +1,120 @@
+package Engine;
+
+/*
+ * Schedules callbacks to run a set number of ticks in the future, so timed things don't have to check a timer every update cycle to see if it's up
+ * It's a "hierarchical timer wheel" -- there are LEVELS wheels of SLOTS slots each, where each slot holds a linked list of tasks
+ * Level 0 has one slot per tick for the next SLOTS ticks, level 1 has one slot per SLOTS ticks for the next SLOTS^2 ticks, and so on
+ * Each tick only the current level 0 slot is run, and every SLOTS ticks the next slot of the level above is "cascaded" down into the lower levels
+ * This means scheduling, cancelling, and running a task are all constant time, no matter how many tasks are scheduled
+ */
+public class TimerWheel {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    // furthest out in ticks a task can be scheduled, anything further than this is scheduled for this many ticks out instead
+    public static final long MAX_DELAY_TICKS = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+    // first task in each slot's linked list of tasks
+    private final ScheduledTask[][] slots = new ScheduledTask[LEVELS][SLOTS];
+
+    // tick the wheel is currently on
+    private long currentTick;
+
+    // number of tasks currently scheduled
+    private int size;
+
+    public TimerWheel() {
+        this(0);
+    }
+
+    public TimerWheel(long startTick) {
+        this.currentTick = startTick;
+    }
+
+    // schedules callback to be run delayTicks ticks from now (minimum of 1 tick)
+    public ScheduledTask schedule(long delayTicks, Runnable callback) {
+        long delay = Math.max(1, Math.min(delayTicks, MAX_DELAY_TICKS));
+        ScheduledTask task = new ScheduledTask(currentTick + delay, callback);
+        add(task);
+        return task;
+    }
+
+    // moves the wheel forward one tick and runs all tasks that are set to run on that tick
+    public void advance() {
+        currentTick++;
+
+        // every time a level's slot index wraps back around to 0, the next slot up on the level above is cascaded down
+        int levelIndex = (int)(currentTick & SLOT_MASK);
+        for (int level = 1; level < LEVELS && levelIndex == 0; level++) {
+            levelIndex = (int)((currentTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+            cascade(level, levelIndex);
+        }
+
+        // run every task in the current slot
+        // tasks are taken off the list one at a time so a callback can safely cancel or schedule other tasks
+        int slot = (int)(currentTick & SLOT_MASK);
+        ScheduledTask task;
+        while ((task = slots[0][slot]) != null) {
+            remove(task);
+            task.callback.run();
+        }
+    }
+
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    // number of tasks currently scheduled
+    public int size() {
+        return size;
+    }
+
+    // re-adds every task in a slot, which will place them into lower levels now that they are closer to running
+    private void cascade(int level, int slot) {
+        ScheduledTask task;
+        while ((task = slots[level][slot]) != null) {
+            remove(task);
+            add(task);
+        }
+    }
+
+    // places task in the slot for its expiration tick on the lowest level that reaches that far
+    private void add(ScheduledTask task) {
+        long ticksUntilExpiration = Math.max(0, task.expirationTick - currentTick);
+        int level = 0;
+        while (level < LEVELS - 1 && ticksUntilExpiration >= (1L << (SLOT_BITS * (level + 1)))) {
+            level++;
+        }
+        long expirationTick = currentTick + ticksUntilExpiration;
+        int slot = (int)((expirationTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+
+        task.timerWheel = this;
+        task.level = level;
+        task.slot = slot;
+        task.previous = null;
+        task.next = slots[level][slot];
+        if (task.next != null) {
+            task.next.previous = task;
+        }
+        slots[level][slot] = task;
+        size++;
+    }
+
+    // takes task out of its slot's linked list
+    void remove(ScheduledTask task) {
+        if (task.previous != null) {
+            task.previous.next = task.next;
+        } else {
+            slots[task.level][task.slot] = task.next;
+        }
+        if (task.next != null) {
+            task.next.previous = task.previous;
+        }
+        task.previous = null;
+        task.next = null;
+        task.timerWheel = null;
+        size--;
+    }
+}
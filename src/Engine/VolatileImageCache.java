@@ -0,0 +1,107 @@
+package Engine;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/*
+ * Keeps a VolatileImage copy (which lives in video memory) of images that are drawn every frame and never change, such as the HUD's images
+ * Images have to be marked as hot to be put in here, and it's only used if Config.VOLATILE_IMAGE_CACHE is turned on
+ * The GraphicsHandler draws a hot image's VolatileImage copy in place of the image itself when it can
+ *
+ * The contents of a VolatileImage can be lost at any time (e.g. the window gets minimized or the display mode changes),
+ * so each copy is checked before it's drawn and redrawn from its original image if it was lost -- if it's lost again while being drawn, the original image is drawn instead
+ * When running headless there's no video memory, so the original images are always drawn
+ */
+public class VolatileImageCache {
+    // hot images and their VolatileImage copies (null until first drawn)
+    // weak keys, so a hot image that is no longer used anywhere else can still be garbage collected
+    private static final Map<BufferedImage, VolatileImage> volatileImages = new WeakHashMap<>();
+
+    private static long restoreCount;
+
+    // prevents VolatileImageCache from being instantiated -- it's my way of making a "static" class like C# has
+    private VolatileImageCache() { }
+
+    // marks an image as hot, meaning it will be drawn from video memory from now on
+    // images marked as hot should never be changed after this is called, since the copy in video memory won't see the change
+    public static synchronized void markHot(BufferedImage image) {
+        if (isEnabled() && !volatileImages.containsKey(image)) {
+            volatileImages.put(image, null);
+        }
+    }
+
+    // throws out a hot image's VolatileImage copy so it gets made again the next time it's drawn
+    // for when a hot image is changed anyway, which only the AssetHotReloader should ever do
+    public static synchronized void refresh(BufferedImage image) {
+        VolatileImage volatileImage = volatileImages.get(image);
+        if (volatileImage != null) {
+            volatileImage.flush();
+            volatileImages.put(image, null);
+        }
+    }
+
+    public static boolean isEnabled() {
+        return Config.VOLATILE_IMAGE_CACHE && !GraphicsEnvironment.isHeadless();
+    }
+
+    // draws an image from its VolatileImage copy if it is hot, and returns false if it isn't hot or its copy couldn't be drawn
+    // in that case the image should just be drawn normally
+    public static synchronized boolean draw(Graphics2D g, BufferedImage image, int x, int y, int width, int height) {
+        if (!volatileImages.containsKey(image)) {
+            return false;
+        }
+
+        GraphicsConfiguration graphicsConfiguration = g.getDeviceConfiguration();
+        VolatileImage volatileImage = volatileImages.get(image);
+        if (volatileImage == null) {
+            volatileImage = createVolatileImage(image, graphicsConfiguration);
+            volatileImages.put(image, volatileImage);
+        }
+
+        // make sure the copy is still there (and still works with what's being drawn to) before drawing it
+        int validation = volatileImage.validate(graphicsConfiguration);
+        if (validation == VolatileImage.IMAGE_INCOMPATIBLE) {
+            volatileImage.flush();
+            volatileImage = createVolatileImage(image, graphicsConfiguration);
+            volatileImages.put(image, volatileImage);
+        } else if (validation == VolatileImage.IMAGE_RESTORED) {
+            copyImage(image, volatileImage);
+            restoreCount++;
+        }
+
+        g.drawImage(volatileImage, x, y, width, height, null);
+
+        // if the copy got lost while it was being drawn, what got drawn may be garbage, so the original image gets drawn over it instead
+        return !volatileImage.contentsLost();
+    }
+
+    private static VolatileImage createVolatileImage(BufferedImage image, GraphicsConfiguration graphicsConfiguration) {
+        VolatileImage volatileImage = graphicsConfiguration.createCompatibleVolatileImage(image.getWidth(), image.getHeight(), image.getTransparency());
+        volatileImage.validate(graphicsConfiguration);
+        copyImage(image, volatileImage);
+        return volatileImage;
+    }
+
+    // draws the original image into its VolatileImage copy, replacing whatever was there before (including any transparent pixels)
+    private static void copyImage(BufferedImage image, VolatileImage volatileImage) {
+        Graphics2D g = volatileImage.createGraphics();
+        try {
+            g.setComposite(AlphaComposite.Src);
+            g.drawImage(image, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+    }
+
+    public static synchronized int getSize() {
+        return volatileImages.size();
+    }
+
+    // number of times a VolatileImage copy was lost and had to be redrawn from its original image
+    public static synchronized long getRestoreCount() {
+        return restoreCount;
+    }
+}
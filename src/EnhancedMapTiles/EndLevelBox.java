@@ -1,7 +1,8 @@
 package EnhancedMapTiles;
 
 import Builders.FrameBuilder;
-import Engine.ImageLoader;
+import Engine.AssetManifest;
+import GameObject.AnimationRegistry;
 import GameObject.Frame;
 import GameObject.SpriteSheet;
 import Level.EnhancedMapTile;
@@ -14,8 +15,12 @@ import java.util.HashMap;
 // This class is for the end level gold box tile
 // when the player touches it, it will tell the player that the level has been completed
 public class EndLevelBox extends EnhancedMapTile {
+    // everything this enhanced map tile needs loaded before it can be made (see AssetManifest class)
+    public static final AssetManifest ASSET_MANIFEST = new AssetManifest()
+            .withSpriteSheet("GoldBox.png", 16, 16);
+
     public EndLevelBox(Point location) {
-        super(location.x, location.y, new SpriteSheet(ImageLoader.load("GoldBox.png"), 16, 16), "DEFAULT", TileType.PASSABLE);
+        super(location.x, location.y, AnimationRegistry.getSpriteSheet("GoldBox.png", 16, 16), "DEFAULT", TileType.PASSABLE);
     }
 
     @Override
@@ -0,0 +1,35 @@
+package Game;
+
+import Engine.AssetBaker;
+import Engine.Config;
+
+import java.io.File;
+
+/*
+ * Bakes every image in the resources folder ahead of time (see AssetBaker class), so even the first run of the game doesn't have to work out image transparency
+ * Images are baked with the default transparent color from the Config class -- images loaded with a different transparent color get baked the first time the game loads them
+ */
+public class BakeAssets {
+
+	public static void main(String[] args) {
+		// nothing is shown on screen while baking
+		System.setProperty("java.awt.headless", "true");
+
+		File[] imageFiles = new File(Config.RESOURCES_PATH).listFiles((dir, name) -> name.toLowerCase().endsWith(".png"));
+		if (imageFiles == null) {
+			throw new RuntimeException("Unable to find resources folder " + Config.RESOURCES_PATH);
+		}
+
+		long startTime = System.nanoTime();
+		int bakedCount = 0, upToDateCount = 0;
+		for (File imageFile : imageFiles) {
+			if (AssetBaker.bake(imageFile.getName(), Config.TRANSPARENT_COLOR)) {
+				bakedCount++;
+			} else {
+				upToDateCount++;
+			}
+		}
+		System.out.println(String.format("Baked %d images (%d already up to date) to %s in %.3f seconds",
+				bakedCount, upToDateCount, Config.BAKED_ASSETS_PATH, (System.nanoTime() - startTime) / 1000000000.0));
+	}
+}
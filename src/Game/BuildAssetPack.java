@@ -0,0 +1,48 @@
+package Game;
+
+import Engine.AssetPack;
+import Engine.Config;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/*
+ * Packs every asset the game uses into the single asset pack file at Config.ASSET_PACK_PATH (see AssetPack class)
+ * This includes every file in the resources folder, every file in the map files folder, and every .wav file in the game's folder and the src folder
+ * Has to be run again after any asset changes, otherwise the game keeps using the old copy of it in the pack
+ */
+public class BuildAssetPack {
+
+	public static void main(String[] args) {
+		List<String> paths = new ArrayList<>();
+		addFiles(paths, Config.RESOURCES_PATH, "");
+		addFiles(paths, Config.MAP_FILES_PATH, "");
+		addFiles(paths, "", ".wav");
+		addFiles(paths, "src/", ".wav");
+
+		long startTime = System.nanoTime();
+		AssetPack.write(Paths.get(Config.ASSET_PACK_PATH), paths);
+		long packSize = new File(Config.ASSET_PACK_PATH).length();
+		System.out.println(String.format("Packed %d assets (%.1f MB) to %s in %.3f seconds",
+				paths.size(), packSize / (1024.0 * 1024.0), Config.ASSET_PACK_PATH, (System.nanoTime() - startTime) / 1000000000.0));
+	}
+
+	// adds the path of every file in a folder (not including sub folders) that ends with the given extension
+	// files are sorted by name so the same assets always make the same pack
+	private static void addFiles(List<String> paths, String folder, String extension) {
+		File[] files = new File(folder.isEmpty() ? "." : folder).listFiles((dir, name) -> name.toLowerCase().endsWith(extension));
+		if (files == null) {
+			throw new RuntimeException("Unable to find folder " + folder);
+		}
+		Arrays.sort(files);
+		for (File file : files) {
+			if (Files.isRegularFile(file.toPath())) {
+				paths.add(folder + file.getName());
+			}
+		}
+	}
+}
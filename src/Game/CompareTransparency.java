@@ -0,0 +1,141 @@
+package Game;
+
+import Engine.Config;
+import Utils.ImageUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.*;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/*
+ * Checks that ImageUtils.transformColorToTransparency gives back the exact same pixels as the RGBImageFilter way it used to be done (kept below as transformColorToTransparencyWithFilter)
+ * Every image in the resources folder is compared, along with a random image converted to each kind of image type that can be loaded (indexed color, gray, BGR, premultiplied alpha),
+ * each one with a few different transparent colors -- any image that doesn't match is printed out, and it ends with an exception if there were any
+ * Arguments (all optional):
+ *   the names of the image files in the resources folder to compare (e.g. Cat.png) -- if none are given, every .png file in the resources folder is compared
+ */
+public class CompareTransparency {
+	// transparent colors each image is compared with
+	private static final Color[] TRANSPARENT_COLORS = { Config.TRANSPARENT_COLOR, Color.WHITE, new Color(10, 20, 30) };
+
+	public static void main(String[] args) {
+		// nothing is shown on screen while comparing
+		System.setProperty("java.awt.headless", "true");
+
+		String[] imageFileNames = args;
+		if (imageFileNames.length == 0) {
+			imageFileNames = new File(Config.RESOURCES_PATH).list((dir, name) -> name.toLowerCase().endsWith(".png"));
+			if (imageFileNames == null) {
+				throw new RuntimeException("Unable to find resources folder " + Config.RESOURCES_PATH);
+			}
+			Arrays.sort(imageFileNames);
+		}
+
+		List<String> imageNames = new ArrayList<>();
+		List<BufferedImage> images = new ArrayList<>();
+		for (String imageFileName : imageFileNames) {
+			try {
+				images.add(ImageIO.read(new File(Config.RESOURCES_PATH + imageFileName)));
+				imageNames.add(imageFileName);
+			} catch (IOException e) {
+				throw new RuntimeException("Unable to read image " + Config.RESOURCES_PATH + imageFileName, e);
+			}
+		}
+		addRandomImages(imageNames, images);
+
+		int comparisonCount = 0, mismatchCount = 0;
+		long filterTime = 0, rasterTime = 0;
+		for (int i = 0; i < images.size(); i++) {
+			for (Color transparentColor : TRANSPARENT_COLORS) {
+				long startTime = System.nanoTime();
+				BufferedImage expected = transformColorToTransparencyWithFilter(images.get(i), transparentColor);
+				filterTime += System.nanoTime() - startTime;
+				startTime = System.nanoTime();
+				BufferedImage actual = ImageUtils.transformColorToTransparency(images.get(i), transparentColor);
+				rasterTime += System.nanoTime() - startTime;
+
+				comparisonCount++;
+				String mismatch = findMismatch(expected, actual);
+				if (mismatch != null) {
+					mismatchCount++;
+					System.out.println(String.format("%s with transparent color %06x doesn't match: %s",
+							imageNames.get(i), transparentColor.getRGB() & 0xFFFFFF, mismatch));
+				}
+			}
+		}
+		System.out.println(String.format("Compared %d images (%d comparisons), %d didn't match -- filter took %.1f ms, raster took %.1f ms",
+				images.size(), comparisonCount, mismatchCount, filterTime / 1000000.0, rasterTime / 1000000.0));
+		if (mismatchCount > 0) {
+			throw new RuntimeException(mismatchCount + " of " + comparisonCount + " comparisons didn't match");
+		}
+	}
+
+	// adds a random image with random alpha, along with copies of it as each of the other image types an image file can be loaded as
+	private static void addRandomImages(List<String> imageNames, List<BufferedImage> images) {
+		Random random = new Random(1);
+		BufferedImage randomImage = new BufferedImage(512, 512, BufferedImage.TYPE_INT_ARGB);
+		for (int y = 0; y < randomImage.getHeight(); y++) {
+			for (int x = 0; x < randomImage.getWidth(); x++) {
+				randomImage.setRGB(x, y, random.nextInt());
+			}
+		}
+		imageNames.add("random ARGB image");
+		images.add(randomImage);
+
+		int[] imageTypes = { BufferedImage.TYPE_BYTE_INDEXED, BufferedImage.TYPE_BYTE_GRAY, BufferedImage.TYPE_3BYTE_BGR, BufferedImage.TYPE_INT_ARGB_PRE };
+		String[] imageTypeNames = { "indexed", "gray", "BGR", "premultiplied ARGB" };
+		for (int i = 0; i < imageTypes.length; i++) {
+			BufferedImage convertedImage = new BufferedImage(randomImage.getWidth(), randomImage.getHeight(), imageTypes[i]);
+			Graphics2D g = convertedImage.createGraphics();
+			g.drawImage(randomImage, 0, 0, null);
+			g.dispose();
+			imageNames.add("random " + imageTypeNames[i] + " image");
+			images.add(convertedImage);
+		}
+	}
+
+	// returns where two images first differ, or null if they're the same
+	private static String findMismatch(BufferedImage expected, BufferedImage actual) {
+		if (expected.getWidth() != actual.getWidth() || expected.getHeight() != actual.getHeight()) {
+			return String.format("size %dx%d instead of %dx%d", actual.getWidth(), actual.getHeight(), expected.getWidth(), expected.getHeight());
+		}
+		for (int y = 0; y < expected.getHeight(); y++) {
+			for (int x = 0; x < expected.getWidth(); x++) {
+				if (expected.getRGB(x, y) != actual.getRGB(x, y)) {
+					return String.format("pixel (%d, %d) is %08x instead of %08x", x, y, actual.getRGB(x, y), expected.getRGB(x, y));
+				}
+			}
+		}
+		return null;
+	}
+
+	// the way ImageUtils.transformColorToTransparency used to work, which it has to match
+	// filters the image through an RGBImageFilter that makes the chosen color (and anything brighter) fully transparent, and then draws the result onto a new ARGB image
+	private static BufferedImage transformColorToTransparencyWithFilter(BufferedImage image, Color c1) {
+		final int r1 = c1.getRed();
+		final int g1 = c1.getGreen();
+		final int b1 = c1.getBlue();
+		ImageFilter filter = new RGBImageFilter() {
+			public final int filterRGB(int x, int y, int rgb) {
+				int r = (rgb & 0xFF0000) >> 16;
+				int g = (rgb & 0xFF00) >> 8;
+				int b = rgb & 0xFF;
+				if (r >= r1 && g >= g1 && b >= b1) {
+					// Set fully transparent but keep color
+					return rgb & 0xFFFFFF;
+				}
+				return rgb;
+			}
+		};
+
+		ImageProducer ip = new FilteredImageSource(image.getSource(), filter);
+		Image result = Toolkit.getDefaultToolkit().createImage(ip);
+		return ImageUtils.convertImageToBufferedImage(result, image.getWidth(), image.getHeight());
+	}
+}
@@ -0,0 +1,71 @@
+package Game;
+
+import Engine.Config;
+import Level.MapFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/*
+ * Converts text map files in the map files folder into the binary map file format (see MapFile class)
+ * Each "name.txt" file is written out as "name.map" next to it, the text file is left alone -- a "name.map" file given by name is converted in place
+ * Arguments (all optional):
+ *   --chunked -- write chunked map files (Config.MAP_CHUNK_SIZE tiles per chunk), which are streamed in around the camera instead of read in all at once (see MapChunkStreamer class)
+ *   --chunk-size=N -- write chunked map files with chunks that are N tiles wide and tall
+ *   the names of the map files to convert (e.g. test_map.txt) -- if none are given, every .txt file in the map files folder is converted
+ */
+public class ConvertMapFiles {
+
+	public static void main(String[] args) {
+		int chunkSize = 0;
+		List<String> fileNameArgs = new ArrayList<>();
+		for (String arg : args) {
+			if (arg.equals("--chunked")) {
+				chunkSize = Config.MAP_CHUNK_SIZE;
+			} else if (arg.startsWith("--chunk-size=")) {
+				chunkSize = Integer.parseInt(arg.substring("--chunk-size=".length()));
+			} else {
+				fileNameArgs.add(arg);
+			}
+		}
+
+		String[] mapFileNames = fileNameArgs.toArray(new String[0]);
+		if (mapFileNames.length == 0) {
+			mapFileNames = new File(Config.MAP_FILES_PATH).list((dir, name) -> name.toLowerCase().endsWith(".txt"));
+			if (mapFileNames == null) {
+				throw new RuntimeException("Unable to find map files folder " + Config.MAP_FILES_PATH);
+			}
+			Arrays.sort(mapFileNames);
+		}
+
+		long startTime = System.nanoTime();
+		long totalInputSize = 0, totalBinarySize = 0;
+		for (String mapFileName : mapFileNames) {
+			Path inputFile = new File(Config.MAP_FILES_PATH + mapFileName).toPath();
+			Path binaryFile = inputFile.resolveSibling(mapFileName.replaceAll("(?i)\\.(txt|map)$", "") + ".map");
+			try {
+				long inputSize = Files.size(inputFile);
+				MapFile mapFile = MapFile.read(inputFile);
+				if (chunkSize > 0) {
+					mapFile.writeChunked(binaryFile, chunkSize);
+				} else {
+					mapFile.write(binaryFile);
+				}
+				long binarySize = Files.size(binaryFile);
+				totalInputSize += inputSize;
+				totalBinarySize += binarySize;
+				System.out.println(String.format("%s (%dx%d) -> %s, %d bytes -> %d bytes",
+						inputFile, mapFile.getWidth(), mapFile.getHeight(), binaryFile, inputSize, binarySize));
+			} catch (IOException e) {
+				throw new RuntimeException(e);
+			}
+		}
+		System.out.println(String.format("Converted %d map files (%d bytes -> %d bytes) in %.3f seconds",
+				mapFileNames.length, totalInputSize, totalBinarySize, (System.nanoTime() - startTime) / 1000000000.0));
+	}
+}
@@ -1,27 +1,57 @@
 package Game;
 
+import Engine.AssetHotReloader;
 import Engine.GameWindow;
+import Engine.InputRecorder;
 import Engine.ScreenManager;
 
+import java.io.File;
+
 /*
  * The game starts here
  * This class just starts up a GameWindow and attaches the ScreenCoordinator to the ScreenManager instance in the GameWindow
  * From this point on the ScreenCoordinator class will dictate what the game does
+ * Arguments (all optional):
+ *   --record=file -- record all input to a file, which can be replayed with HeadlessGame's --replay argument
+ *   --hot-reload -- watch the resources and map files folders and swap in any changes while the game is running (see AssetHotReloader class)
  */
 public class Game {
 
 	public static void main(String[] args) {
-		new Game();
+		File recordFile = null;
+		for (String arg : args) {
+			if (arg.startsWith("--record=")) {
+				recordFile = new File(arg.substring("--record=".length()));
+			} else if (arg.equals("--hot-reload")) {
+				// has to start before anything is loaded
+				AssetHotReloader.start();
+			}
+		}
+		new Game(recordFile);
 	}
 
 	public Game() {
+		this(null);
+	}
+
+	// if recordFile is not null, all input is recorded to it until the game is closed
+	public Game(File recordFile) {
 		GameWindow gameWindow = new GameWindow();
-		gameWindow.startGame();
 		ScreenManager screenManager = gameWindow.getScreenManager();
 		ScreenCoordinator screenCoordinator = new ScreenCoordinator();
 		screenManager.setCurrentScreen(screenCoordinator);
 		gameWindow.setScreenCoordinator(screenCoordinator);
 
+		// recording has to start before the first update cycle so a replay starts from the same point
+		// the game is closed by exiting the program, so the recording is finished up on the way out
+		if (recordFile != null) {
+			InputRecorder.startRecording(recordFile);
+			Runtime.getRuntime().addShutdownHook(new Thread(InputRecorder::stopRecording));
+		}
+
+		// game loop is started last, since it may be running on its own thread and needs the screen coordinator attached first
+		gameWindow.startGame();
+
 
 	}
 
@@ -0,0 +1,133 @@
+package Game;
+
+import Engine.AssetCache;
+import Engine.Audio;
+import Engine.HeadlessRunner;
+import Engine.InputRecorder;
+import Engine.SpriteVariantCache;
+import Engine.TextureAtlas;
+import GameObject.AnimationRegistry;
+
+import javax.imageio.ImageIO;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Arrays;
+
+/*
+ * Starts the game up without a window and runs a level as fast as possible, then reports how fast it went
+ * Used for soak tests and performance regression runs on machines with no display
+ * Arguments (all optional):
+ *   first argument -- number of update cycles to run (default 10000)
+ *   --render=N -- draw to an offscreen image every N update cycles
+ *   --screenshot=file.png -- save the last drawn image to a file when done (requires --render)
+ *   --replay=file -- replay input recorded with Game's --record argument, starting from the menu the same way the recording did and running until the recording ends
+ *   --frame-times=file.csv -- save how long each update cycle (and render, if rendering) took to a file when done
+ */
+public class HeadlessGame {
+
+	public static void main(String[] args) {
+		// has to be set before anything AWT related gets loaded
+		System.setProperty("java.awt.headless", "true");
+
+		long numberOfUpdates = 10000;
+		int renderInterval = 0;
+		String screenshotPath = null;
+		String replayPath = null;
+		String frameTimesPath = null;
+		for (String arg : args) {
+			if (arg.startsWith("--render=")) {
+				renderInterval = Integer.parseInt(arg.substring("--render=".length()));
+			} else if (arg.startsWith("--screenshot=")) {
+				screenshotPath = arg.substring("--screenshot=".length());
+			} else if (arg.startsWith("--replay=")) {
+				replayPath = arg.substring("--replay=".length());
+			} else if (arg.startsWith("--frame-times=")) {
+				frameTimesPath = arg.substring("--frame-times=".length());
+			} else {
+				numberOfUpdates = Long.parseLong(arg);
+			}
+		}
+
+		new HeadlessGame(numberOfUpdates, renderInterval, screenshotPath, replayPath, frameTimesPath);
+	}
+
+	public HeadlessGame(long numberOfUpdates, int renderInterval, String screenshotPath) {
+		this(numberOfUpdates, renderInterval, screenshotPath, null, null);
+	}
+
+	// if replayPath is not null, numberOfUpdates is ignored and update cycles are run until the recording ends
+	public HeadlessGame(long numberOfUpdates, int renderInterval, String screenshotPath, String replayPath, String frameTimesPath) {
+		// no one is around to hear it
+		Audio.setMuted(true);
+
+		// a replay has to be run at the same screen size it was recorded at, otherwise things like the camera would end up in different places
+		HeadlessRunner runner;
+		if (replayPath != null) {
+			InputRecorder.startReplay(new File(replayPath));
+			runner = new HeadlessRunner(InputRecorder.getReplayScreenWidth(), InputRecorder.getReplayScreenHeight());
+		} else {
+			runner = new HeadlessRunner();
+		}
+		if (renderInterval > 0) {
+			runner.enableRendering(renderInterval);
+		}
+
+		ScreenCoordinator screenCoordinator = new ScreenCoordinator();
+		runner.setCurrentScreen(screenCoordinator);
+		runner.setScreenCoordinator(screenCoordinator);
+
+		// skip past the menu and go straight into a level, unless replaying (recordings start at the menu)
+		if (replayPath == null) {
+			screenCoordinator.setGameState(GameState.LEVEL);
+		}
+		runner.startGame();
+
+		// how long each step took, only kept if they are going to be saved (grows as needed since a replay's length isn't known ahead of time)
+		long[] frameTimes = new long[1024];
+		int frameTimeCount = 0;
+
+		long startTime = System.nanoTime();
+		long stepStartTime = startTime;
+		while (replayPath != null ? !InputRecorder.isReplayFinished() : runner.getUpdateCount() < numberOfUpdates) {
+			runner.step();
+			if (frameTimesPath != null) {
+				long stepEndTime = System.nanoTime();
+				if (frameTimeCount == frameTimes.length) {
+					frameTimes = Arrays.copyOf(frameTimes, frameTimes.length * 2);
+				}
+				frameTimes[frameTimeCount++] = stepEndTime - stepStartTime;
+				stepStartTime = stepEndTime;
+			}
+		}
+		long elapsedNanos = System.nanoTime() - startTime;
+		InputRecorder.stopReplay();
+
+		double elapsedSeconds = elapsedNanos / 1000000000.0;
+		System.out.println(String.format("Ran %d update cycles (%d renders) in %.3f seconds -- %.0f update cycles per second",
+				runner.getUpdateCount(), runner.getRenderCount(), elapsedSeconds, runner.getUpdateCount() / elapsedSeconds));
+		System.out.println("Asset cache: " + AssetCache.getStats());
+		System.out.println("Sprite variant cache: " + SpriteVariantCache.getStats());
+		System.out.println("Animation registry: " + AnimationRegistry.getStats());
+		System.out.println(String.format("Texture atlas: %d pages (%.1f%% packed)", TextureAtlas.getPageCount(), 100 * TextureAtlas.getPackedRatio()));
+
+		if (screenshotPath != null && runner.getFrame() != null) {
+			try {
+				ImageIO.write(runner.getFrame(), "png", new File(screenshotPath));
+			} catch (IOException e) {
+				throw new RuntimeException(e);
+			}
+		}
+
+		if (frameTimesPath != null) {
+			try (PrintWriter writer = new PrintWriter(new File(frameTimesPath))) {
+				writer.println("update_cycle,nanos");
+				for (int i = 0; i < frameTimeCount; i++) {
+					writer.println((i + 1) + "," + frameTimes[i]);
+				}
+			} catch (IOException e) {
+				throw new RuntimeException(e);
+			}
+		}
+	}
+}
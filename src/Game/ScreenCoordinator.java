@@ -1,17 +1,22 @@
 package Game;
 
+import Engine.AssetManifest;
+import Engine.AssetPreloader;
 import Engine.DefaultScreen;
 import Engine.GraphicsHandler;
+import Engine.InputRecorder;
 import Engine.Screen;
 import Screens.AvatarOptionsScreen;
 import Screens.CreditsScreen;
 import Screens.HowToScreen;
+import Screens.LoadingScreen;
 import Screens.MenuScreen;
 import Screens.PlayLevelScreen;
 
 /*
  * Based on the current game state, this class determines which Screen should be shown
  * There can only be one "currentScreen", although screens can have "nested" screens
+ * Screens can also have assets loaded in the background through this class, in which case a loading screen is shown in place of the current screen until they're loaded
  */
 public class ScreenCoordinator extends Screen {
 	// currently shown Screen
@@ -21,6 +26,15 @@ public class ScreenCoordinator extends Screen {
 	protected GameState gameState;
 	protected GameState previousGameState;
 
+	// assets currently being loaded in the background, what to do once they're loaded, and the screen shown in the meantime (all null when nothing is loading)
+	protected AssetPreloader assetPreloader;
+	protected Runnable onAssetsLoaded;
+	protected LoadingScreen loadingScreen;
+
+	// if false, loading assets blocks the game thread until they're loaded instead of showing a loading screen
+	// this is needed when the number of update cycles something takes has to be the same every run (e.g. recording/replaying input or headless runs)
+	protected boolean loadInBackground = true;
+
 	public GameState getGameState() {
 		return gameState;
 	}
@@ -30,6 +44,45 @@ public class ScreenCoordinator extends Screen {
 		this.gameState = gameState;
 	}
 
+	public void setLoadInBackground(boolean loadInBackground) {
+		this.loadInBackground = loadInBackground;
+	}
+
+	// starts loading every asset in a manifest, and calls onLoaded (on the game thread) once they're all loaded
+	// until then, the loading screen is updated and drawn instead of the current screen
+	public void loadAssets(AssetManifest assetManifest, Runnable onLoaded) {
+		assetPreloader = new AssetPreloader(assetManifest);
+		onAssetsLoaded = onLoaded;
+		assetPreloader.start();
+		if (!loadInBackground || InputRecorder.isActive()) {
+			finishLoading();
+			return;
+		}
+		loadingScreen = new LoadingScreen(this);
+		loadingScreen.initialize();
+	}
+
+	public boolean isLoading() {
+		return assetPreloader != null;
+	}
+
+	// how much of the assets currently being loaded have been loaded, from 0 to 1 (1 if nothing is loading)
+	public float getLoadingProgress() {
+		return assetPreloader != null ? assetPreloader.getProgress() : 1f;
+	}
+
+	private void finishLoading() {
+		assetPreloader.waitUntilFinished();
+		AssetPreloader finishedPreloader = assetPreloader;
+		Runnable onLoaded = onAssetsLoaded;
+		assetPreloader = null;
+		onAssetsLoaded = null;
+		loadingScreen = null;
+		onLoaded.run();
+		// anything preloaded that onLoaded didn't use isn't going to be used
+		finishedPreloader.discardPreloadedFiles();
+	}
+
 	@Override
 	public void initialize() {
 		// start game off with Menu Screen
@@ -42,6 +95,14 @@ public class ScreenCoordinator extends Screen {
 			// if previousGameState does not equal gameState, it means there was a change in gameState
 			// this triggers ScreenCoordinator to bring up a new Screen based on what the gameState is
 			if (previousGameState != gameState) {
+				// anything the old screen was loading is no longer needed
+				if (assetPreloader != null) {
+					assetPreloader.discardPreloadedFiles();
+				}
+				assetPreloader = null;
+				onAssetsLoaded = null;
+				loadingScreen = null;
+
 				switch(gameState) {
 					case MENU:
 						currentScreen = new MenuScreen(this);
@@ -63,6 +124,15 @@ public class ScreenCoordinator extends Screen {
 			}
 			previousGameState = gameState;
 
+			// while assets are loading only the loading screen is updated, once they're loaded the current screen picks up right away
+			if (assetPreloader != null) {
+				if (!assetPreloader.isFinished()) {
+					loadingScreen.update();
+					return;
+				}
+				finishLoading();
+			}
+
 			// call the update method for the currentScreen
 			currentScreen.update();
 		} while (previousGameState != gameState);
@@ -70,7 +140,11 @@ public class ScreenCoordinator extends Screen {
 
 	@Override
 	public void draw(GraphicsHandler graphicsHandler) {
-		// call the draw method for the currentScreen
-		currentScreen.draw(graphicsHandler);
+		// call the draw method for the currentScreen (or the loading screen if assets are loading)
+		if (loadingScreen != null) {
+			loadingScreen.draw(graphicsHandler);
+		} else {
+			currentScreen.draw(graphicsHandler);
+		}
 	}
 }
@@ -13,6 +13,8 @@ import java.util.HashMap;
 	This class contains logic for transitioning animations as well as playing out the frames in an animation in a loop
 	Subclasses need to call down to this class's update method in order for animation logic to be performed
 	While this calls does not extend from Sprite, it is set up in a way where it is still treated by other classes as if it is a singular sprite (based on value of currentFrame)
+	Animations loaded through getAnimations are only built once per class and sprite sheet and shared by every instance (see AnimationRegistry class),
+	so frames in the animations are never moved -- currentFrame is this sprite's own copy of whichever frame it's on, and it's the only frame that gets moved
 */
 public class AnimatedSprite implements IntersectableRectangle {
 	// location of entity
@@ -31,7 +33,7 @@ public class AnimatedSprite implements IntersectableRectangle {
 	// if an animation has looped, this is set to true
 	protected boolean hasAnimationLooped;
 
-	// current Frame object the animation is using based on currentAnimationName and currentFrameIndex
+	// copy of the Frame object the animation is using based on currentAnimationName and currentFrameIndex, at this sprite's location
 	// this is essential for the class, as it uses this to be treated as "one sprite"
 	protected Frame currentFrame;
 
@@ -41,7 +43,7 @@ public class AnimatedSprite implements IntersectableRectangle {
 	public AnimatedSprite(SpriteSheet spriteSheet, float x, float y, String startingAnimationName) {
 		this.x = x;
 		this.y = y;
-		this.animations = getAnimations(spriteSheet);
+		this.animations = AnimationRegistry.getAnimations(getClass(), spriteSheet, this::getAnimations);
 		this.currentAnimationName = startingAnimationName;
 		updateCurrentFrame();
 	}
@@ -58,7 +60,7 @@ public class AnimatedSprite implements IntersectableRectangle {
 		this.x = x;
 		this.y = y;
 		SpriteSheet spriteSheet = new SpriteSheet(image, image.getWidth(), image.getHeight());
-        this.animations = getAnimations(spriteSheet);
+        this.animations = AnimationRegistry.getAnimations(getClass(), spriteSheet, this::getAnimations);
         this.currentAnimationName = startingAnimationName;
 		updateCurrentFrame();
 	}
@@ -99,6 +101,7 @@ public class AnimatedSprite implements IntersectableRectangle {
 	}
 
 	// Subclasses can override this method in order to add their own animations, which will be loaded in at initialization time
+	// it's only called for the first instance of a class made with a given sprite sheet, so it shouldn't depend on anything about the instance
 	public HashMap<String, Frame[]> getAnimations(SpriteSheet spriteSheet) {
 	    return null;
     }
@@ -107,7 +110,11 @@ public class AnimatedSprite implements IntersectableRectangle {
 	// the sprite needs to have its current state updated based on animation logic,
 	// and location updated to match any changes to the animated sprite class
 	protected void updateCurrentFrame() {
-		currentFrame = getCurrentFrame();
+		if (currentFrame == null) {
+			currentFrame = getCurrentFrame().copy();
+		} else {
+			currentFrame.setFrame(getCurrentFrame());
+		}
 		currentFrame.setX(x);
 		currentFrame.setY(y);
 	}
@@ -0,0 +1,124 @@
+package GameObject;
+
+import Engine.Config;
+import Engine.ImageLoader;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.function.Function;
+
+/*
+ * Builds each entity type's sprite sheet and animations once, and shares them between every instance of that type
+ * e.g. a map with twenty bug enemies used to make twenty sprite sheets and twenty sets of animation frames, now they all use the same ones
+ *
+ * Shared animation frames are never moved -- each animated sprite draws from its own copy of the frame it's currently on (see AnimatedSprite class),
+ * so the only thing an instance keeps for itself is where it is and which frame of which animation it's on
+ * Since animations are only built once per entity type (and sprite sheet), an entity's getAnimations method should never depend on anything about the instance it's called on
+ *
+ * Sprite sheet images are acquired from the AssetCache for as long as the registry holds on to them (until clear is called), so the cache never lets go of an image the registry is still using
+ */
+public class AnimationRegistry {
+
+    // an entity type along with the sprite sheet its animations were built from
+    private static class Key {
+        private final Class<?> entityType;
+        private final BufferedImage image;
+        private final int spriteWidth, spriteHeight;
+
+        private Key(Class<?> entityType, SpriteSheet spriteSheet) {
+            this.entityType = entityType;
+            this.image = spriteSheet.getImage();
+            this.spriteWidth = spriteSheet.getSpriteWidth();
+            this.spriteHeight = spriteSheet.getSpriteHeight();
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key)other;
+            return entityType == key.entityType && image == key.image && spriteWidth == key.spriteWidth && spriteHeight == key.spriteHeight;
+        }
+
+        @Override
+        public int hashCode() {
+            return ((entityType.hashCode() * 31 + System.identityHashCode(image)) * 31 + spriteWidth) * 31 + spriteHeight;
+        }
+    }
+
+    // a sprite sheet along with the image it acquired from the AssetCache, so the image can be released again
+    private static class SpriteSheetEntry {
+        private final SpriteSheet spriteSheet;
+        private final String imageFileName;
+        private final Color transparentColor;
+
+        private SpriteSheetEntry(SpriteSheet spriteSheet, String imageFileName, Color transparentColor) {
+            this.spriteSheet = spriteSheet;
+            this.imageFileName = imageFileName;
+            this.transparentColor = transparentColor;
+        }
+    }
+
+    // sprite sheets keyed by their image file name, transparent color and sprite size
+    private static final HashMap<String, SpriteSheetEntry> spriteSheets = new HashMap<>();
+
+    private static final HashMap<Key, HashMap<String, Frame[]>> animations = new HashMap<>();
+
+    private static long sharedCount;
+
+    // prevents AnimationRegistry from being instantiated -- it's my way of making a "static" class like C# has
+    private AnimationRegistry() { }
+
+    // returns the sprite sheet for an image file split into sprites of the given size, making it the first time it's asked for
+    public static SpriteSheet getSpriteSheet(String imageFileName, int spriteWidth, int spriteHeight) {
+        return getSpriteSheet(imageFileName, Config.TRANSPARENT_COLOR, spriteWidth, spriteHeight);
+    }
+
+    public static synchronized SpriteSheet getSpriteSheet(String imageFileName, Color transparentColor, int spriteWidth, int spriteHeight) {
+        String key = imageFileName + "#" + Integer.toHexString(transparentColor.getRGB()) + "#" + spriteWidth + "x" + spriteHeight;
+        SpriteSheetEntry entry = spriteSheets.get(key);
+        if (entry == null) {
+            SpriteSheet spriteSheet = new SpriteSheet(ImageLoader.acquire(imageFileName, transparentColor), spriteWidth, spriteHeight);
+            entry = new SpriteSheetEntry(spriteSheet, imageFileName, transparentColor);
+            spriteSheets.put(key, entry);
+        }
+        return entry.spriteSheet;
+    }
+
+    // returns the animations for an entity type made from the given sprite sheet, building them with createAnimations the first time they're asked for
+    // returns null (and doesn't remember anything) if createAnimations does
+    public static synchronized HashMap<String, Frame[]> getAnimations(Class<?> entityType, SpriteSheet spriteSheet, Function<SpriteSheet, HashMap<String, Frame[]>> createAnimations) {
+        Key key = new Key(entityType, spriteSheet);
+        HashMap<String, Frame[]> entityAnimations = animations.get(key);
+        if (entityAnimations != null) {
+            sharedCount++;
+            return entityAnimations;
+        }
+
+        HashMap<String, Frame[]> createdAnimations = createAnimations.apply(spriteSheet);
+        if (createdAnimations == null) {
+            return null;
+        }
+        // copied into a plain HashMap, since animations are usually made as an anonymous HashMap subclass which would hold on to the instance that made them
+        entityAnimations = new HashMap<>(createdAnimations);
+        animations.put(key, entityAnimations);
+        return entityAnimations;
+    }
+
+    // forgets every sprite sheet and animation, so they're built again the next time they're asked for
+    // each sprite sheet's image is released, so the AssetCache can let go of it once nothing else is using it
+    public static synchronized void clear() {
+        for (SpriteSheetEntry entry : spriteSheets.values()) {
+            ImageLoader.release(entry.imageFileName, entry.transparentColor);
+        }
+        spriteSheets.clear();
+        animations.clear();
+    }
+
+    public static synchronized String getStats() {
+        return String.format("%d sprite sheets, %d animation sets -- %d times shared instead of rebuilt",
+                spriteSheets.size(), animations.size(), sharedCount);
+    }
+}
@@ -23,4 +23,16 @@ public class Frame extends Sprite {
 	public Frame copy() {
 		return new Frame(image, scale, imageEffect, bounds, delay);
 	}
+
+	// turns this frame into a copy of another frame, keeping this frame's location
+	// animated sprites use this to show a shared animation frame at their own location (see AnimationRegistry class)
+	void setFrame(Frame frame) {
+		this.image = frame.image;
+		this.width = frame.width;
+		this.height = frame.height;
+		this.scale = frame.scale;
+		this.imageEffect = frame.imageEffect;
+		this.bounds = frame.bounds;
+		this.delay = frame.delay;
+	}
 }
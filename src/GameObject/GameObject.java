@@ -2,6 +2,8 @@ package GameObject;
 
 import Builders.FrameBuilder;
 import Engine.GraphicsHandler;
+import Engine.Interpolation;
+import Level.Camera;
 import Level.Map;
 import Level.MapTileCollisionHandler;
 import Utils.Direction;
@@ -36,6 +38,11 @@ public class GameObject extends AnimatedSprite {
 	// the map instance this game object "belongs" to.
 	protected Map map;
 
+	// location the game object was in at the start of the update cycle it last moved in, and which update cycle that was
+	// used to draw the game object in between where it was and where it is now when rendering in between update cycles
+	protected float renderStartX, renderStartY;
+	protected long renderStartTick = -1;
+
 	public GameObject(SpriteSheet spriteSheet, float x, float y, String startingAnimation) {
 		super(spriteSheet, x, y, startingAnimation);
 		this.startPositionX = x;
@@ -139,6 +146,81 @@ public class GameObject extends AnimatedSprite {
 		previousY = y;
 	}
 
+	// saves off the game object's location the first time it moves in an update cycle
+	protected void saveRenderStartPosition() {
+		long tick = Interpolation.getUpdateTick();
+		if (renderStartTick != tick) {
+			renderStartTick = tick;
+			renderStartX = x;
+			renderStartY = y;
+		}
+	}
+
+	// forgets the saved off render start location, so the game object gets drawn right where it is instead of moving there from its old location
+	// should be used when the game object is placed somewhere new rather than moving there (e.g. respawning)
+	public void resetRenderStartPosition() {
+		renderStartTick = -1;
+	}
+
+	@Override
+	public void setX(float x) {
+		saveRenderStartPosition();
+		super.setX(x);
+	}
+
+	@Override
+	public void setY(float y) {
+		saveRenderStartPosition();
+		super.setY(y);
+	}
+
+	@Override
+	public void moveX(float dx) {
+		saveRenderStartPosition();
+		super.moveX(dx);
+	}
+
+	@Override
+	public void moveRight(float dx) {
+		saveRenderStartPosition();
+		super.moveRight(dx);
+	}
+
+	@Override
+	public void moveLeft(float dx) {
+		saveRenderStartPosition();
+		super.moveLeft(dx);
+	}
+
+	@Override
+	public void moveY(float dy) {
+		saveRenderStartPosition();
+		super.moveY(dy);
+	}
+
+	@Override
+	public void moveDown(float dy) {
+		saveRenderStartPosition();
+		super.moveDown(dy);
+	}
+
+	@Override
+	public void moveUp(float dy) {
+		saveRenderStartPosition();
+		super.moveUp(dy);
+	}
+
+	// gets x location to draw at for the given interpolation alpha
+	// if the game object moved during the latest update cycle, this is in between where it started that cycle and where it is now
+	public float getRenderX(float alpha) {
+		return renderStartTick == Interpolation.getUpdateTick() ? Interpolation.lerp(renderStartX, x, alpha) : x;
+	}
+
+	// gets y location to draw at for the given interpolation alpha
+	public float getRenderY(float alpha) {
+		return renderStartTick == Interpolation.getUpdateTick() ? Interpolation.lerp(renderStartY, y, alpha) : y;
+	}
+
 	// move game object along the x axis
 	// will stop object from moving based on map collision logic (such as if it hits a solid tile)
 	public void moveXHandleCollision(float dx) {
@@ -278,6 +360,26 @@ public class GameObject extends AnimatedSprite {
 		}
 	}
 
+	// gets x location to draw at taking into account map camera position, with both interpolated based on the alpha the camera is drawing with
+	public float getCalibratedRenderXLocation() {
+		if (map != null) {
+			Camera camera = map.getCamera();
+			return getRenderX(camera.getRenderAlpha()) - camera.getRenderX();
+		} else {
+			return getX();
+		}
+	}
+
+	// gets y location to draw at taking into account map camera position, with both interpolated based on the alpha the camera is drawing with
+	public float getCalibratedRenderYLocation() {
+		if (map != null) {
+			Camera camera = map.getCamera();
+			return getRenderY(camera.getRenderAlpha()) - camera.getRenderY();
+		} else {
+			return getY();
+		}
+	}
+
 	// gets scaled bounds taking into account map camera position
 	public Rectangle getCalibratedScaledBounds() {
 		if (map != null) {
@@ -305,13 +407,10 @@ public class GameObject extends AnimatedSprite {
 	@Override
 	public void draw(GraphicsHandler graphicsHandler) {
 		if (map != null) {
-			graphicsHandler.drawImage(
-					currentFrame.getImage(),
-					Math.round(getCalibratedXLocation()),
-					Math.round(getCalibratedYLocation()),
-					currentFrame.getScaledWidth(),
-					currentFrame.getScaledHeight(),
-					currentFrame.getImageEffect());
+			currentFrame.drawImage(
+					graphicsHandler,
+					Math.round(getCalibratedRenderXLocation()),
+					Math.round(getCalibratedRenderYLocation()));
 		} else {
 			super.draw(graphicsHandler);
 		}
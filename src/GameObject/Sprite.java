@@ -2,6 +2,7 @@ package GameObject;
 
 import Engine.GraphicsHandler;
 import Engine.ImageLoader;
+import Engine.SpriteVariantCache;
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
@@ -13,6 +14,9 @@ public class Sprite extends Rectangle implements IntersectableRectangle {
     protected Rectangle bounds;
     protected ImageEffect imageEffect;
 
+    // copy of the image already at its scaled size with its image effect applied, from the SpriteVariantCache
+    private SpriteVariantCache.Variant scaledImageVariant;
+
     public Sprite (BufferedImage image, float scale, ImageEffect imageEffect) {
         super(0, 0, image.getWidth(), image.getHeight(), scale);
         this.image = image;
@@ -102,9 +106,39 @@ public class Sprite extends Rectangle implements IntersectableRectangle {
 		super.update();
 	}
 	
+	// returns the image already scaled to its scaled width and height with its image effect applied, which can be drawn 1:1
+	// returns null if the SpriteVariantCache is turned off (or the sprite is scaled down to nothing), in which case the image has to be drawn scaled
+	public BufferedImage getScaledImage() {
+		int scaledWidth = getScaledWidth();
+		int scaledHeight = getScaledHeight();
+		if (!SpriteVariantCache.isEnabled() || scaledWidth <= 0 || scaledHeight <= 0) {
+			return null;
+		}
+		BufferedImage scaledImage = null;
+		if (scaledImageVariant != null && scaledImageVariant.isFor(image, scaledWidth, scaledHeight, imageEffect)) {
+			scaledImage = scaledImageVariant.getImage();
+		}
+		// variant is looked up again if the image, scale, or image effect has changed, or if the variant was evicted from the cache
+		if (scaledImage == null) {
+			scaledImageVariant = SpriteVariantCache.getVariant(image, scaledWidth, scaledHeight, imageEffect);
+			scaledImage = scaledImageVariant.getImage();
+		}
+		return scaledImage;
+	}
+
+	// draws the sprite's image at the given location at its scaled size with its image effect applied
+	public void drawImage(GraphicsHandler graphicsHandler, int x, int y) {
+		BufferedImage scaledImage = getScaledImage();
+		if (scaledImage != null) {
+			graphicsHandler.drawImage(scaledImage, x, y);
+		} else {
+			graphicsHandler.drawImage(image, x, y, getScaledWidth(), getScaledHeight(), imageEffect);
+		}
+	}
+	
 	@Override
 	public void draw(GraphicsHandler graphicsHandler) {
-		graphicsHandler.drawImage(image, Math.round(getX()), Math.round(getY()), getScaledWidth(), getScaledHeight(), imageEffect);
+		drawImage(graphicsHandler, Math.round(getX()), Math.round(getY()));
 	}
 
 	public void drawBounds(GraphicsHandler graphicsHandler, Color color) {
@@ -3,6 +3,7 @@ package GameObject;
 import java.awt.image.BufferedImage;
 
 import Engine.GraphicsHandler;
+import Engine.TextureAtlas;
 
 // This class is for reading in a SpriteSheet (collection of images laid out in a specific way)
 // As long as each graphic on the sheet is the same size, it can parse it into sub images
@@ -19,16 +20,28 @@ public class SpriteSheet {
 		this.spriteHeight = spriteHeight;
 		this.rowLength = image.getHeight() / spriteHeight;
 		this.columnLength = image.getWidth() / spriteWidth;
+		if (TextureAtlas.isEnabled()) {
+			TextureAtlas.addSpriteSheet(image, spriteWidth, spriteHeight);
+		}
 	}
 
 	// returns a subimage from the sprite sheet image based on the row and column
+	// if the sprite sheet was packed into the texture atlas, the sprite comes from there instead
 	public BufferedImage getSprite(int spriteNumber, int animationNumber) {
+		BufferedImage atlasSprite = TextureAtlas.isEnabled() ? TextureAtlas.getSprite(image, spriteWidth, spriteHeight, spriteNumber, animationNumber) : null;
+		if (atlasSprite != null) {
+			return atlasSprite;
+		}
 		return image.getSubimage((animationNumber * spriteWidth) + animationNumber, (spriteNumber * spriteHeight) + spriteNumber, spriteWidth, spriteHeight);
 	}
 
 	// returns a subimage from the sprite sheet image based on the row and column
 	// this does the same as "getSprite", I added two methods that do the same thing for some reason
 	public BufferedImage getSubImage(int row, int column) {
+		BufferedImage atlasSprite = TextureAtlas.isEnabled() ? TextureAtlas.getSprite(image, spriteWidth, spriteHeight, row, column) : null;
+		if (atlasSprite != null) {
+			return atlasSprite;
+		}
 		return image.getSubimage((column * spriteWidth) + column, (row * spriteHeight) + row, spriteWidth, spriteHeight);
 	}
 
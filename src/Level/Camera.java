@@ -1,6 +1,11 @@
 package Level;
 
+import Engine.FrameGovernor;
+import Engine.FrameProfiler;
+import Engine.GameClock;
 import Engine.GraphicsHandler;
+import Engine.Interpolation;
+import Engine.ProfilerSection;
 import Engine.ScreenManager;
 import GameObject.GameObject;
 import GameObject.Rectangle;
@@ -28,8 +33,17 @@ public class Camera extends Rectangle {
     private ArrayList<NPC> activeNPCs = new ArrayList<>();
 
     // determines how many tiles off screen an entity can be before it will be deemed inactive and not included in the update/draw cycles until it comes back in range
+    // the FrameGovernor may shrink this range while the game loop is struggling to keep up (see getUpdateOffScreenRange)
     private final int UPDATE_OFF_SCREEN_RANGE = 4;
 
+    // location the camera was in at the start of the update cycle it last moved in, and which update cycle that was
+    // the camera is drawn in between this and its current location when rendering in between update cycles, same as game objects
+    private float renderStartX, renderStartY;
+    private long renderStartTick = -1;
+
+    // interpolation alpha the camera is currently drawing with, game objects on the map use it to match up with the camera
+    private float renderAlpha = 1f;
+
     public Camera(int startX, int startY, int tileWidth, int tileHeight, Map map) {
         super(startX, startY, ScreenManager.getScreenWidth() / tileWidth, ScreenManager.getScreenHeight() / tileHeight);
         this.map = map;
@@ -48,20 +62,25 @@ public class Camera extends Rectangle {
     }
 
     public void update(Player player) {
+        FrameProfiler.begin(ProfilerSection.MAP_TILE_UPDATE);
+        // a streamed map loads chunks close to the camera and unloads ones far away from it before anything else is updated
+        if (map.getMapChunkStreamer() != null) {
+            map.getMapChunkStreamer().update(this);
+        }
         updateMapTiles();
+        FrameProfiler.end(ProfilerSection.MAP_TILE_UPDATE);
+
+        FrameProfiler.begin(ProfilerSection.MAP_ENTITY_UPDATE);
         updateMapEntities(player);
+        FrameProfiler.end(ProfilerSection.MAP_ENTITY_UPDATE);
     }
 
-    // for each map tile that is determined to be "active" (within camera's current range)
+    // every spot on the map with the same kind of tile shares one map tile (see Map class), and a map tile's animation frame is worked out from the game clock,
+    // so only the map's few animated shared map tiles need to be updated -- map tiles that never animate aren't updated at all
     private void updateMapTiles() {
-        Point tileIndex = getTileIndexByCameraPosition();
-        for (int i = tileIndex.y - UPDATE_OFF_SCREEN_RANGE; i <= tileIndex.y + height + UPDATE_OFF_SCREEN_RANGE; i++) {
-            for (int j = tileIndex.x - UPDATE_OFF_SCREEN_RANGE; j <= tileIndex.x + width + UPDATE_OFF_SCREEN_RANGE; j++) {
-                MapTile tile = map.getMapTile(j, i);
-                if (tile != null) {
-                    tile.update();
-                }
-            }
+        long timeMillis = GameClock.getTimeMillis();
+        for (MapTile tile : map.getAnimatedMapTiles()) {
+            tile.updateFromClock(timeMillis);
         }
     }
 
@@ -184,20 +203,37 @@ public class Camera extends Rectangle {
     }
 
     public void draw(GraphicsHandler graphicsHandler) {
+        draw(graphicsHandler, Interpolation.getAlpha());
+    }
+
+    // alpha is how far in between the last update cycle and the next one this frame is
+    public void draw(GraphicsHandler graphicsHandler, float alpha) {
+        this.renderAlpha = alpha;
+
+        FrameProfiler.begin(ProfilerSection.DRAW_MAP_TILES);
         drawMapTiles(graphicsHandler);
+        FrameProfiler.end(ProfilerSection.DRAW_MAP_TILES);
+
+        FrameProfiler.begin(ProfilerSection.DRAW_MAP_ENTITIES);
         drawMapEntities(graphicsHandler);
+        FrameProfiler.end(ProfilerSection.DRAW_MAP_ENTITIES);
     }
 
     // draws visible map tiles to the screen
     // this is different than "active" map tiles as determined in the update method -- there is no reason to actually draw to screen anything that can't be seen
     // so this does not include the extra range granted by the UPDATE_OFF_SCREEN_RANGE value
+    // tiles are drawn from the map's pre-drawn chunks if the chunk cache is on (see MapChunkCache class), otherwise one by one
     public void drawMapTiles(GraphicsHandler graphicsHandler) {
         Point tileIndex = getTileIndexByCameraPosition();
+        if (MapChunkCache.isEnabled()) {
+            map.getMapChunkCache().draw(graphicsHandler, tileIndex.x - 1, tileIndex.y - 1, tileIndex.x + width + 1, tileIndex.y + height + 1);
+            return;
+        }
         for (int i = tileIndex.y - 1; i <= tileIndex.y + height + 1; i++) {
             for (int j = tileIndex.x - 1; j <= tileIndex.x + width + 1; j++) {
-                MapTile tile = map.getMapTile(j, i);
+                MapTile tile = map.getSharedMapTile(j, i);
                 if (tile != null) {
-                    tile.draw(graphicsHandler);
+                    tile.drawAt(graphicsHandler, j * tileWidth, i * tileHeight);
                 }
             }
         }
@@ -224,10 +260,16 @@ public class Camera extends Rectangle {
 
     // checks if a game object's position falls within the camera's current radius
     public boolean containsUpdate(GameObject gameObject) {
-        return getX1() - (tileWidth * UPDATE_OFF_SCREEN_RANGE) < gameObject.getX() + gameObject.getScaledWidth() &&
-                getEndBoundX() + (tileWidth * UPDATE_OFF_SCREEN_RANGE) > gameObject.getX() &&
-                getY1() - (tileHeight * UPDATE_OFF_SCREEN_RANGE) <  gameObject.getY() + gameObject.getScaledHeight()
-                && getEndBoundY() + (tileHeight * UPDATE_OFF_SCREEN_RANGE) > gameObject.getY();
+        int updateOffScreenRange = getUpdateOffScreenRange();
+        return getX1() - (tileWidth * updateOffScreenRange) < gameObject.getX() + gameObject.getScaledWidth() &&
+                getEndBoundX() + (tileWidth * updateOffScreenRange) > gameObject.getX() &&
+                getY1() - (tileHeight * updateOffScreenRange) <  gameObject.getY() + gameObject.getScaledHeight()
+                && getEndBoundY() + (tileHeight * updateOffScreenRange) > gameObject.getY();
+    }
+
+    // how many tiles off screen things are currently kept updating, which is UPDATE_OFF_SCREEN_RANGE minus however much load the FrameGovernor is currently shedding
+    public int getUpdateOffScreenRange() {
+        return Math.max(1, UPDATE_OFF_SCREEN_RANGE - FrameGovernor.getUpdateRangeReduction());
     }
 
     // checks if a game object's position falls within the camera's current radius
@@ -249,6 +291,78 @@ public class Camera extends Rectangle {
         return activeNPCs;
     }
 
+    // saves off the camera's location the first time it moves in an update cycle
+    private void saveRenderStartPosition() {
+        long tick = Interpolation.getUpdateTick();
+        if (renderStartTick != tick) {
+            renderStartTick = tick;
+            renderStartX = x;
+            renderStartY = y;
+        }
+    }
+
+    @Override
+    public void setX(float x) {
+        saveRenderStartPosition();
+        super.setX(x);
+    }
+
+    @Override
+    public void setY(float y) {
+        saveRenderStartPosition();
+        super.setY(y);
+    }
+
+    @Override
+    public void moveX(float dx) {
+        saveRenderStartPosition();
+        super.moveX(dx);
+    }
+
+    @Override
+    public void moveRight(float dx) {
+        saveRenderStartPosition();
+        super.moveRight(dx);
+    }
+
+    @Override
+    public void moveLeft(float dx) {
+        saveRenderStartPosition();
+        super.moveLeft(dx);
+    }
+
+    @Override
+    public void moveY(float dy) {
+        saveRenderStartPosition();
+        super.moveY(dy);
+    }
+
+    @Override
+    public void moveDown(float dy) {
+        saveRenderStartPosition();
+        super.moveDown(dy);
+    }
+
+    @Override
+    public void moveUp(float dy) {
+        saveRenderStartPosition();
+        super.moveUp(dy);
+    }
+
+    public float getRenderAlpha() {
+        return renderAlpha;
+    }
+
+    // gets x location to draw from -- if the camera moved during the latest update cycle, this is in between where it started that cycle and where it is now
+    public float getRenderX() {
+        return renderStartTick == Interpolation.getUpdateTick() ? Interpolation.lerp(renderStartX, x, renderAlpha) : x;
+    }
+
+    // gets y location to draw from
+    public float getRenderY() {
+        return renderStartTick == Interpolation.getUpdateTick() ? Interpolation.lerp(renderStartY, y, renderAlpha) : y;
+    }
+
     // gets end bound X position of the camera (start position is always 0)
     public float getEndBoundX() {
         return x + (width * tileWidth) + leftoverSpaceX;
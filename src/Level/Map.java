@@ -1,16 +1,21 @@
 package Level;
 
+import Engine.AssetHotReloader;
+import Engine.AssetPack;
+import Engine.AssetPreloader;
 import Engine.Config;
+import Engine.GameClock;
 import Engine.GraphicsHandler;
+import Engine.Interpolation;
 import Engine.ScreenManager;
 import Utils.Point;
 
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileWriter;
-import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.Scanner;
+import java.util.HashMap;
 
 /*
     This class is for defining a map that is used for a specific level
@@ -20,11 +25,37 @@ import java.util.Scanner;
     3. the map's camera, which does a lot of work itself in the Camera class
     4. adjusting camera location based off of player location
     5. calculating which tile a game object is currently on based on its x and y location
+
+    The tile map is only stored as the tile index of each spot on the map -- every spot with the same tile index is drawn and collided with using one shared map tile for that index,
+    which is made the first time that index is used (see getSharedMapTile), so a map only ever has as many MapTile objects as it has different kinds of tiles
+    getMapTile still hands out a MapTile for a spot on the map, but it's a new lightweight copy of the shared one each time, so changing it doesn't change the map (setMapTile does)
+
+    Each map subclass also defines an ASSET_MANIFEST listing its map file, tileset, and the sprite sheets of everything in it,
+    so the AssetPreloader can load them in the background before the map is made
 */
 
 public abstract class Map {
-    // the tile map (map tiles that make up the entire map image)
-    protected MapTile[] mapTiles;
+    // the tile map (tile index of each of the map tiles that make up the entire map image)
+    // null if the map is streamed in a chunk at a time instead (see mapChunkStreamer)
+    protected int[] mapTileIndexes;
+
+    // streams the tile map in a chunk at a time if the map file is a chunked map file (see MapChunkStreamer class), null otherwise
+    protected MapChunkStreamer mapChunkStreamer;
+
+    // size of the chunks the map file is split into if it's a chunked map file, 0 if it isn't -- kept so saving the map keeps it chunked
+    protected int mapFileChunkSize;
+
+    // the memory mapped map file a streamed map reads its chunks from, kept so resetting the map doesn't map the file again
+    protected ByteBuffer mappedMapFile;
+
+    // the one map tile shared by every spot on the map with the same tile index, mapped to that tile index
+    protected HashMap<Integer, MapTile> sharedMapTiles = new HashMap<>();
+
+    // the tile map's tiles pre-drawn in chunks, which the camera draws the tile map with (see MapChunkCache class)
+    protected MapChunkCache mapChunkCache = new MapChunkCache(this);
+
+    // the shared map tiles that animate, which are the only map tiles that need anything done each update cycle (see Camera's updateMapTiles)
+    protected ArrayList<MapTile> animatedMapTiles = new ArrayList<>();
 
     // width and height of the map in terms of the number of tiles width-wise and height-wise
     protected int width;
@@ -56,6 +87,10 @@ public abstract class Map {
     protected ArrayList<EnhancedMapTile> enhancedMapTiles;
     protected ArrayList<NPC> npcs;
 
+    // map entities that are made when the part of the map they're on is loaded (see MapEntitySpawn class), along with the map entity each one has currently made
+    protected ArrayList<MapEntitySpawn> spawns;
+    protected HashMap<MapEntitySpawn, MapEntity> spawnedMapEntities = new HashMap<>();
+
     // if set to false, camera will not move as player moves
     protected boolean adjustCamera = true;
 
@@ -70,12 +105,16 @@ public abstract class Map {
         this.xMidPoint = ScreenManager.getScreenWidth() / 2;
         this.yMidPoint = (ScreenManager.getScreenHeight() / 2);
         this.playerStartTile = playerStartTile;
+        AssetHotReloader.addMap(this);
     }
 
     // sets up map by reading in the map file to create the tile map
     // loads in enemies, enhanced map tiles, and npcs
     // and instantiates a Camera
     public void setupMap() {
+        sharedMapTiles.clear();
+        animatedMapTiles.clear();
+        mapChunkCache.clear();
         loadMapFile();
 
         this.enemies = loadEnemies();
@@ -93,71 +132,127 @@ public abstract class Map {
             npc.setMap(this);
         }
 
+        // a streamed map makes each spawn when its chunk loads, any other map has all of it loaded already
+        this.spawns = loadSpawns();
+        spawnedMapEntities.clear();
+        if (mapChunkStreamer != null) {
+            mapChunkStreamer.setSpawns(spawns);
+        } else {
+            for (MapEntitySpawn spawn : spawns) {
+                spawn(spawn);
+            }
+        }
+
         this.camera = new Camera(0, 0, tileset.getScaledSpriteWidth(), tileset.getScaledSpriteHeight(), this);
     }
 
-    // reads in a map file to create the map's tilemap
+    // reads in a map file to create the map's tilemap (see MapFile class for the map file format)
+    // if the map file was preloaded by the AssetPreloader or is in the AssetPack, it's read from memory instead
+    // a chunked map file isn't read in all at once, it's streamed in a chunk at a time as the camera gets close to each chunk (see MapChunkStreamer class)
     private void loadMapFile() {
-        Scanner fileInput;
-        try {
-            // open map file that is located in the MAP_FILES_PATH directory
-            fileInput = new Scanner(new File(Config.MAP_FILES_PATH + this.mapFileName));
-        } catch(FileNotFoundException ex) {
+        String path = Config.MAP_FILES_PATH + this.mapFileName;
+        ByteBuffer mapFileData;
+        byte[] preloadedMapFile = AssetPreloader.takePreloadedFile(path);
+        ByteBuffer packedMapFile = preloadedMapFile == null ? AssetPack.getSlice(path) : null;
+        if (preloadedMapFile != null) {
+            mapFileData = ByteBuffer.wrap(preloadedMapFile);
+        } else if (packedMapFile != null) {
+            mapFileData = packedMapFile;
+        } else {
             // if map file does not exist, create a new one for this map (the map editor uses this)
-            System.out.println("Map file " + Config.MAP_FILES_PATH + this.mapFileName + " not found! Creating empty map file...");
-
-            try {
+            if (!Files.exists(Paths.get(path))) {
+                System.out.println("Map file " + path + " not found! Creating empty map file...");
                 createEmptyMapFile();
-                fileInput = new Scanner(new File(Config.MAP_FILES_PATH + this.mapFileName));
-            } catch(IOException ex2) {
-                ex2.printStackTrace();
-                System.out.println("Failed to create an empty map file!");
-                throw new RuntimeException();
             }
+            // open map file that is located in the MAP_FILES_PATH directory
+            // it's only memory mapped if it's going to be streamed (checked from just its header), since a mapped file stays mapped until it's garbage collected
+            // and can't be replaced on some systems while it is (which the map editor and hot reloading need to do) -- every other map file is read in all at once
+            Path mapFilePath = Paths.get(path);
+            if (mappedMapFile != null) {
+                mapFileData = mappedMapFile;
+            } else if (MapChunkStreamer.isEnabled() && MapFile.isChunked(mapFilePath)) {
+                mappedMapFile = MapFile.map(mapFilePath);
+                mapFileData = mappedMapFile;
+            } else {
+                mapFileData = MapFile.readBytes(mapFilePath);
+            }
+        }
+
+        this.mapFileChunkSize = MapFile.isChunked(mapFileData) ? MapFile.readChunkIndex(mapFileData).chunkSize : 0;
+        if (MapChunkStreamer.isEnabled() && mapFileChunkSize > 0) {
+            this.mapChunkStreamer = new MapChunkStreamer(this, mapFileData);
+            this.width = mapChunkStreamer.getWidth();
+            this.height = mapChunkStreamer.getHeight();
+            this.mapTileIndexes = null;
+            return;
         }
+        this.mapChunkStreamer = null;
+        MapFile mapFile = MapFile.read(mapFileData);
+        this.width = mapFile.getWidth();
+        this.height = mapFile.getHeight();
 
-        // read in map width and height from the first line of map file
-        this.width = fileInput.nextInt();
-        this.height = fileInput.nextInt();
+        // the tile map is an array of size width * height (this is a standard array, NOT a 2D array), holding the tile index of each spot on the map
+        this.mapTileIndexes = mapFile.getTileIndexes();
+    }
 
-        // define array size for map tiles, which is width * height (this is a standard array, NOT a 2D array)
-        this.mapTiles = new MapTile[this.height * this.width];
-        fileInput.nextLine();
+    // reads this map's map file again after it was changed (see AssetHotReloader class), and swaps in new tile indexes only where they're different than before
+    // returns how many rows of the map had tiles swapped out
+    // the map's size can't be changed this way, since everything on the map was placed based on it
+    public int reloadMapFile() {
+        if (mapChunkStreamer != null) {
+            throw new RuntimeException("A streamed map can't be reloaded, the level has to be restarted to see it");
+        }
+        // the whole file is read before any tiles are swapped, so a file that's only half written doesn't leave the map half changed
+        MapFile mapFile = MapFile.read(Paths.get(Config.MAP_FILES_PATH + this.mapFileName));
+        if (mapFile.getWidth() != width || mapFile.getHeight() != height) {
+            throw new RuntimeException("Map size changed from " + width + "x" + height + " to " + mapFile.getWidth() + "x" + mapFile.getHeight() + ", the level has to be restarted to see it");
+        }
+        int[] tileIndexes = mapFile.getTileIndexes();
 
-        // read in each tile index from the map file, use the defined tileset to get the associated MapTile to that tileset, and place it in the array
+        int changedRowCount = 0;
         for (int i = 0; i < height; i++) {
+            boolean rowChanged = false;
             for (int j = 0; j < width; j++) {
-                int tileIndex = fileInput.nextInt();
-                int xLocation = j * tileset.getScaledSpriteWidth();
-                int yLocation = i * tileset.getScaledSpriteHeight();
-                MapTile tile = tileset.getTile(tileIndex).build(xLocation, yLocation);
-                tile.setMap(this);
-                setMapTile(j, i, tile);
+                int tileIndex = tileIndexes[getConvertedIndex(j, i)];
+                if (getMapTileIndex(j, i) != tileIndex) {
+                    setMapTileIndex(j, i, tileIndex);
+                    rowChanged = true;
+                }
+            }
+            if (rowChanged) {
+                changedRowCount++;
             }
         }
-
-        fileInput.close();
+        return changedRowCount;
     }
 
     // creates an empty map file for this map if one does not exist
     // defaults the map dimensions to 0x0
-    private void createEmptyMapFile() throws IOException {
-        FileWriter fileWriter = null;
-        fileWriter = new FileWriter(Config.MAP_FILES_PATH + this.mapFileName);
-        fileWriter.write("0 0\n");
-        fileWriter.close();
+    private void createEmptyMapFile() {
+        new MapFile(0, 0, new int[0]).write(Paths.get(Config.MAP_FILES_PATH + this.mapFileName));
+    }
+
+    // writes this map's tile map to its map file, used by the map editor to save a map
+    public void writeMapFile() {
+        if (mapChunkStreamer != null) {
+            throw new RuntimeException("A streamed map doesn't have its whole tile map loaded, so it can't be saved");
+        }
+        MapFile mapFile = new MapFile(width, height, mapTileIndexes.clone());
+        if (mapFileChunkSize > 0) {
+            mapFile.writeChunked(Paths.get(Config.MAP_FILES_PATH + this.mapFileName), mapFileChunkSize);
+        } else {
+            mapFile.write(Paths.get(Config.MAP_FILES_PATH + this.mapFileName));
+        }
     }
 
     // gets player start position based on player start tile (basically the start tile's position on the map)
     public Point getPlayerStartPosition() {
-        MapTile tile = getMapTile(Math.round(playerStartTile.x), Math.round(playerStartTile.y));
-        return new Point(tile.getX(), tile.getY());
+        return getPositionByTileIndex(Math.round(playerStartTile.x), Math.round(playerStartTile.y));
     }
 
     // get position on the map based on a specfic tile index
     public Point getPositionByTileIndex(int xIndex, int yIndex) {
-        MapTile tile = getMapTile(xIndex, yIndex);
-        return new Point(tile.getX(), tile.getY());
+        return new Point(xIndex * tileset.getScaledSpriteWidth(), yIndex * tileset.getScaledSpriteHeight());
     }
 
     public Tileset getTileset() {
@@ -174,6 +269,7 @@ public abstract class Map {
 
     public void setWidth(int width) {
         this.width = width;
+        mapChunkCache.clear();
     }
 
     public int getHeight() {
@@ -182,6 +278,7 @@ public abstract class Map {
 
     public void setHeight(int height) {
         this.height = height;
+        mapChunkCache.clear();
     }
 
     public int getWidthPixels() {
@@ -192,26 +289,100 @@ public abstract class Map {
         return height * tileset.getScaledSpriteHeight();
     }
 
+    // returns a copy of every map tile in the tile map (see getMapTile), changing the array doesn't change the map
     public MapTile[] getMapTiles() {
+        MapTile[] mapTiles = new MapTile[width * height];
+        for (int i = 0; i < height; i++) {
+            for (int j = 0; j < width; j++) {
+                mapTiles[getConvertedIndex(j, i)] = getMapTile(j, i);
+            }
+        }
         return mapTiles;
     }
 
+    // sets the tile map to the tile index of each map tile in the array (see setMapTile)
     public void setMapTiles(MapTile[] mapTiles) {
-        this.mapTiles = mapTiles;
+        int[] mapTileIndexes = new int[mapTiles.length];
+        for (int i = 0; i < mapTiles.length; i++) {
+            mapTileIndexes[i] = mapTiles[i].getTileIndex();
+        }
+        this.mapTileIndexes = mapTileIndexes;
+        this.mapChunkStreamer = null;
+        this.mappedMapFile = null;
+        mapChunkCache.clear();
+    }
+
+    // null for a streamed map, which never has its whole tile map loaded at once
+    public int[] getMapTileIndexes() {
+        return mapTileIndexes;
+    }
+
+    public void setMapTileIndexes(int[] mapTileIndexes) {
+        this.mapTileIndexes = mapTileIndexes;
+        this.mapChunkStreamer = null;
+        this.mappedMapFile = null;
+        mapChunkCache.clear();
     }
 
     // get specific map tile from tile map
+    // this is a new copy of the spot's shared map tile placed at the spot's location, so it's best not to call this every frame (use getSharedMapTile instead)
     public MapTile getMapTile(int x, int y) {
         if (isInBounds(x, y)) {
-            return mapTiles[getConvertedIndex(x, y)];
+            return getSharedMapTile(x, y).copyAt(x * tileset.getScaledSpriteWidth(), y * tileset.getScaledSpriteHeight());
         } else {
             return null;
         }
     }
 
     // set specific map tile from tile map to a new map tile
+    // only the map tile's tile index is kept, the spot is drawn with the shared map tile for that tile index from then on
     public void setMapTile(int x, int y, MapTile tile) {
-        mapTiles[getConvertedIndex(x, y)] = tile;
+        setMapTileIndex(x, y, tile.getTileIndex());
+    }
+
+    // get the tile index of a specific map tile from tile map
+    // a streamed map loads the spot's chunk right away if it isn't loaded (see MapChunkStreamer class)
+    public int getMapTileIndex(int x, int y) {
+        if (mapChunkStreamer != null) {
+            return mapChunkStreamer.getTileIndex(x, y);
+        }
+        return mapTileIndexes[getConvertedIndex(x, y)];
+    }
+
+    // set the tile index of a specific map tile from tile map
+    public void setMapTileIndex(int x, int y, int tileIndex) {
+        if (mapChunkStreamer != null) {
+            mapChunkStreamer.setTileIndex(x, y, tileIndex);
+        } else {
+            mapTileIndexes[getConvertedIndex(x, y)] = tileIndex;
+        }
+        mapChunkCache.invalidate(x, y);
+    }
+
+    // returns the map tile shared by every spot in the tile map with the same tile index as this one, or null if the spot isn't on the map
+    // the shared map tile always stays at location (0, 0), so it has to be drawn with drawAt and collided with using getScaledBoundsAt
+    public MapTile getSharedMapTile(int x, int y) {
+        if (isInBounds(x, y)) {
+            return getSharedMapTile(getMapTileIndex(x, y));
+        } else {
+            return null;
+        }
+    }
+
+    // returns the map tile shared by every spot in the tile map with this tile index, making it from the tileset if it hasn't been made yet
+    public MapTile getSharedMapTile(int tileIndex) {
+        MapTile sharedMapTile = sharedMapTiles.get(tileIndex);
+        if (sharedMapTile == null) {
+            sharedMapTile = tileset.getTile(tileIndex).build(0, 0);
+            sharedMapTile.setMap(this);
+            sharedMapTiles.put(tileIndex, sharedMapTile);
+            if (sharedMapTile.isAnimated()) {
+                // started on the same frame as every other map tile with its animation, instead of from the beginning
+                sharedMapTile.updateFromClock(GameClock.getTimeMillis());
+                animatedMapTiles.add(sharedMapTile);
+            }
+        }
+        return sharedMapTile;
     }
 
     // returns a tile based on a position in the map
@@ -257,6 +428,53 @@ public abstract class Map {
         return new ArrayList<>();
     }
 
+    // list of map entities that are only made once the part of the map they're on is loaded (see MapEntitySpawn class), can be overridden in a subclass
+    // mostly useful for a streamed map, where enemies and enhanced map tiles can be given here instead of in loadEnemies and loadEnhancedMapTiles so far away ones aren't kept around
+    protected ArrayList<MapEntitySpawn> loadSpawns() {
+        return new ArrayList<>();
+    }
+
+    // makes a spawn's map entity and adds it to the map, unless it's already been made
+    public void spawn(MapEntitySpawn spawn) {
+        if (spawnedMapEntities.containsKey(spawn)) {
+            return;
+        }
+        MapEntity mapEntity = spawn.spawn();
+        if (mapEntity instanceof Enemy) {
+            addEnemy((Enemy)mapEntity);
+        } else if (mapEntity instanceof EnhancedMapTile) {
+            addEnhancedMapTile((EnhancedMapTile)mapEntity);
+        } else if (mapEntity instanceof NPC) {
+            addNPC((NPC)mapEntity);
+        } else {
+            throw new RuntimeException("Can't spawn a " + mapEntity.getClass().getSimpleName() + ", only enemies, enhanced map tiles and npcs can be spawned");
+        }
+        spawnedMapEntities.put(spawn, mapEntity);
+    }
+
+    // removes a spawn's map entity from the map, if it's been made
+    public void despawn(MapEntitySpawn spawn) {
+        MapEntity mapEntity = spawnedMapEntities.remove(spawn);
+        if (mapEntity != null) {
+            enemies.remove(mapEntity);
+            enhancedMapTiles.remove(mapEntity);
+            npcs.remove(mapEntity);
+        }
+    }
+
+    public ArrayList<MapTile> getAnimatedMapTiles() {
+        return animatedMapTiles;
+    }
+
+    // null if the map isn't streamed
+    public MapChunkStreamer getMapChunkStreamer() {
+        return mapChunkStreamer;
+    }
+
+    public MapChunkCache getMapChunkCache() {
+        return mapChunkCache;
+    }
+
     public Camera getCamera() {
         return camera;
     }
@@ -375,6 +593,11 @@ public abstract class Map {
     }
 
     public void draw(GraphicsHandler graphicsHandler) {
-        camera.draw(graphicsHandler);
+        draw(graphicsHandler, Interpolation.getAlpha());
+    }
+
+    // alpha is how far in between the last update cycle and the next one this frame is, used to draw moving things in between their positions
+    public void draw(GraphicsHandler graphicsHandler, float alpha) {
+        camera.draw(graphicsHandler, alpha);
     }
 }
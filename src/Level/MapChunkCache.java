@@ -0,0 +1,182 @@
+package Level;
+
+import Engine.Config;
+import Engine.GraphicsHandler;
+import Utils.ImageUtils;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/*
+ * Keeps a map's tiles pre-drawn into "chunk" images, each one Config.MAP_CHUNK_SIZE by Config.MAP_CHUNK_SIZE tiles, so the Camera can draw the map as a few chunk images instead of one image per tile
+ * Only tiles that never change how they look (tiles with a single frame) are drawn into a chunk's image -- animated tiles are left out of it and drawn on top of it every frame instead
+ *
+ * A chunk's image is made the first time the chunk is drawn, and is thrown out whenever one of its tiles changes (e.g. from the map editor) so it gets made again the next time it's drawn
+ * If the chunk images take up more than Config.MAP_CHUNK_CACHE_MEMORY_BUDGET, the least recently drawn ones are let go of
+ */
+public class MapChunkCache {
+    // a chunk's pre-drawn image of its tiles that don't animate (null if all of them animate), and where its tiles that do animate (or are drawn on their own for some other reason) are (as indexes into the tile map)
+    private static class Chunk {
+        private final BufferedImage image;
+        private final int[] animatedTiles;
+        private final long sizeInBytes;
+
+        private Chunk(BufferedImage image, int[] animatedTiles) {
+            this.image = image;
+            this.animatedTiles = animatedTiles;
+            this.sizeInBytes = image != null ? (long)image.getWidth() * image.getHeight() * 4 : 0;
+        }
+    }
+
+    private final Map map;
+
+    // chunks looked up by their chunk x and y index (x + y * number of chunk columns)
+    // access ordered, so iterating goes from least recently drawn to most recently drawn
+    private final LinkedHashMap<Integer, Chunk> chunks = new LinkedHashMap<>(16, 0.75f, true);
+
+    // total size of every chunk image
+    private long sizeInBytes;
+
+    // chunks being drawn this frame, kept around so a new list isn't made every frame
+    private final ArrayList<Chunk> visibleChunks = new ArrayList<>();
+
+    public MapChunkCache(Map map) {
+        this.map = map;
+    }
+
+    public static boolean isEnabled() {
+        return Config.MAP_CHUNK_CACHE;
+    }
+
+    // draws every tile from (startX, startY) to (endX, endY) -- these are tile indexes, and both corners are included
+    // the whole chunk is drawn for any chunk that has a tile in that range, so tiles outside of it may be drawn as well
+    public void draw(GraphicsHandler graphicsHandler, int startX, int startY, int endX, int endY) {
+        startX = Math.max(startX, 0);
+        startY = Math.max(startY, 0);
+        endX = Math.min(endX, map.getWidth() - 1);
+        endY = Math.min(endY, map.getHeight() - 1);
+        if (startX > endX || startY > endY) {
+            return;
+        }
+
+        Camera camera = map.getCamera();
+        int chunkSize = Config.MAP_CHUNK_SIZE;
+        int tileWidth = map.getTileset().getScaledSpriteWidth();
+        int tileHeight = map.getTileset().getScaledSpriteHeight();
+        visibleChunks.clear();
+        for (int chunkY = startY / chunkSize; chunkY <= endY / chunkSize; chunkY++) {
+            for (int chunkX = startX / chunkSize; chunkX <= endX / chunkSize; chunkX++) {
+                Chunk chunk = getChunk(chunkX, chunkY);
+                visibleChunks.add(chunk);
+                if (chunk.image != null) {
+                    graphicsHandler.drawImage(chunk.image,
+                            Math.round(chunkX * chunkSize * tileWidth - camera.getRenderX()),
+                            Math.round(chunkY * chunkSize * tileHeight - camera.getRenderY()));
+                }
+            }
+        }
+
+        // animated tiles are drawn after all of the chunk images, which looks the same as drawing every tile in order since tiles never overlap
+        int width = map.getWidth();
+        for (Chunk chunk : visibleChunks) {
+            for (int animatedTile : chunk.animatedTiles) {
+                int x = animatedTile % width;
+                int y = animatedTile / width;
+                if (x >= startX && x <= endX && y >= startY && y <= endY) {
+                    map.getSharedMapTile(x, y).drawAt(graphicsHandler, x * tileWidth, y * tileHeight);
+                }
+            }
+        }
+        evictIfOverBudget();
+    }
+
+    private Chunk getChunk(int chunkX, int chunkY) {
+        int key = getKey(chunkX, chunkY);
+        Chunk chunk = chunks.get(key);
+        if (chunk == null) {
+            chunk = createChunk(chunkX, chunkY);
+            chunks.put(key, chunk);
+            sizeInBytes += chunk.sizeInBytes;
+        }
+        return chunk;
+    }
+
+    // draws every tile in a chunk that doesn't animate into the chunk's image, and notes down where the ones that do animate are
+    private Chunk createChunk(int chunkX, int chunkY) {
+        int chunkSize = Config.MAP_CHUNK_SIZE;
+        int tileWidth = map.getTileset().getScaledSpriteWidth();
+        int tileHeight = map.getTileset().getScaledSpriteHeight();
+        int startX = chunkX * chunkSize;
+        int startY = chunkY * chunkSize;
+        int endX = Math.min(startX + chunkSize, map.getWidth());
+        int endY = Math.min(startY + chunkSize, map.getHeight());
+
+        BufferedImage image = new BufferedImage((endX - startX) * tileWidth, (endY - startY) * tileHeight, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        GraphicsHandler chunkGraphicsHandler = new GraphicsHandler();
+        chunkGraphicsHandler.setGraphics(g);
+        ArrayList<Integer> animatedTiles = new ArrayList<>();
+        boolean hasStaticTiles = false;
+        for (int y = startY; y < endY; y++) {
+            for (int x = startX; x < endX; x++) {
+                MapTile tile = map.getSharedMapTile(x, y);
+                // a tile that doesn't fit exactly in its spot on the map is drawn on its own too, since it could spill out of the chunk's image
+                if (tile.isAnimated() || tile.getScaledWidth() != tileWidth || tile.getScaledHeight() != tileHeight) {
+                    animatedTiles.add(x + map.getWidth() * y);
+                } else {
+                    tile.drawImage(chunkGraphicsHandler, (x - startX) * tileWidth, (y - startY) * tileHeight);
+                    hasStaticTiles = true;
+                }
+            }
+        }
+        g.dispose();
+
+        if (!hasStaticTiles) {
+            image = null;
+        } else if (Config.COMPATIBLE_IMAGES) {
+            image = ImageUtils.toCompatibleImage(image);
+        }
+        return new Chunk(image, animatedTiles.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    // throws out the chunk that has the tile at (x, y) in it, so it gets made again the next time it's drawn
+    public void invalidate(int x, int y) {
+        Chunk chunk = chunks.remove(getKey(x / Config.MAP_CHUNK_SIZE, y / Config.MAP_CHUNK_SIZE));
+        if (chunk != null) {
+            sizeInBytes -= chunk.sizeInBytes;
+        }
+    }
+
+    // throws out every chunk, needed whenever the whole tile map (or its size) changes
+    public void clear() {
+        chunks.clear();
+        sizeInBytes = 0;
+    }
+
+    // removes the least recently drawn chunks until the chunk images are back under their memory budget
+    // the most recently drawn chunk is always kept, even if it's bigger than the budget by itself
+    private void evictIfOverBudget() {
+        Iterator<Chunk> iterator = chunks.values().iterator();
+        while (sizeInBytes > Config.MAP_CHUNK_CACHE_MEMORY_BUDGET && chunks.size() > 1 && iterator.hasNext()) {
+            Chunk chunk = iterator.next();
+            iterator.remove();
+            sizeInBytes -= chunk.sizeInBytes;
+        }
+    }
+
+    private int getKey(int chunkX, int chunkY) {
+        int chunkColumnCount = (map.getWidth() + Config.MAP_CHUNK_SIZE - 1) / Config.MAP_CHUNK_SIZE;
+        return chunkX + chunkY * chunkColumnCount;
+    }
+
+    public int getSize() {
+        return chunks.size();
+    }
+
+    public long getSizeInBytes() {
+        return sizeInBytes;
+    }
+}
@@ -0,0 +1,246 @@
+package Level;
+
+import Engine.Config;
+
+import java.awt.*;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/*
+ * Streams a map's tile map in from a chunked map file (see MapFile class) a chunk at a time, so a map can be far bigger than what's worth keeping in memory at once
+ * The map file is memory mapped (or read straight out of the AssetPack, which is memory mapped too), so only the chunks that are actually read are ever brought into memory
+ *
+ * Each update cycle, the camera's position decides which chunks are needed (see update):
+ * chunks the camera can see or update are loaded right away if they somehow aren't already, chunks a little further out are loaded on a background thread before the camera gets to them,
+ * and chunks far away from the camera are unloaded
+ * Anything that asks for a tile in a chunk that isn't loaded (e.g. an enemy far off screen checking for collisions) has that chunk loaded right then, so a tile is never missing
+ *
+ * Map entities given as spawns (see MapEntitySpawn class) are made when the chunk they're in is loaded, and let go of when it's unloaded
+ * Tiles changed in a chunk (with setMapTileIndex) go back to how they are in the map file if the chunk is unloaded
+ */
+public class MapChunkStreamer {
+    private static boolean isEnabled = Config.MAP_STREAMING;
+
+    // shared by every streamed map, started the first time a chunk is loaded in the background
+    // only one thread, since reading a chunk out of the mapped file is quick -- it just shouldn't happen on the game thread if it doesn't have to
+    private static ExecutorService loader;
+
+    // a chunk that was read on the loader thread, waiting to be put into the map on the game thread
+    private static class LoadedChunk {
+        private final int chunk;
+        private final int[] tileIndexes;
+
+        private LoadedChunk(int chunk, int[] tileIndexes) {
+            this.chunk = chunk;
+            this.tileIndexes = tileIndexes;
+        }
+    }
+
+    private final Map map;
+
+    // the whole map file, which chunks are read out of
+    // its position and limit are never changed, every read works on its own duplicate of it
+    private final ByteBuffer mapFileData;
+    private final MapFile.ChunkIndex chunkIndex;
+
+    // tile indexes of each chunk (x + width * y within the chunk), null if the chunk isn't loaded -- only ever changed on the game thread
+    private final int[][] chunks;
+
+    // if a chunk has been sent to the loader thread and hasn't come back yet
+    private final boolean[] isLoading;
+
+    private final ConcurrentLinkedQueue<LoadedChunk> loadedChunks = new ConcurrentLinkedQueue<>();
+
+    // map entity spawns in each chunk
+    private final ArrayList<ArrayList<MapEntitySpawn>> chunkSpawns = new ArrayList<>();
+
+    // chunks that were loaded while the game was in the middle of something (see getTileIndex), whose spawns are made at the start of the next update
+    private final ArrayList<Integer> chunksWaitingToSpawn = new ArrayList<>();
+
+    private int loadedChunkCount;
+    private long backgroundLoadCount, immediateLoadCount, unloadCount;
+
+    public MapChunkStreamer(Map map, ByteBuffer mapFileData) {
+        this.map = map;
+        this.mapFileData = mapFileData.duplicate();
+        this.chunkIndex = MapFile.readChunkIndex(this.mapFileData);
+        this.chunks = new int[chunkIndex.offsets.length][];
+        this.isLoading = new boolean[chunks.length];
+        for (int i = 0; i < chunks.length; i++) {
+            chunkSpawns.add(new ArrayList<>());
+        }
+    }
+
+    // lets streaming be turned off for programs that need a map's whole tile map at once (like the map editor), so chunked map files are read in all at once instead
+    // has to be called before any maps are made
+    public static synchronized void setEnabled(boolean enabled) {
+        isEnabled = enabled;
+    }
+
+    public static synchronized boolean isEnabled() {
+        return isEnabled;
+    }
+
+    public int getWidth() {
+        return chunkIndex.width;
+    }
+
+    public int getHeight() {
+        return chunkIndex.height;
+    }
+
+    // sorts a map's spawns into the chunks they're in, done whenever the map is set up (any chunks already loaded have their spawns made at the next update)
+    public void setSpawns(ArrayList<MapEntitySpawn> spawns) {
+        for (ArrayList<MapEntitySpawn> spawnsInChunk : chunkSpawns) {
+            spawnsInChunk.clear();
+        }
+        for (MapEntitySpawn spawn : spawns) {
+            int chunkX = Math.max(0, Math.min(spawn.getTileX() / chunkIndex.chunkSize, chunkIndex.chunkColumnCount - 1));
+            int chunkY = Math.max(0, Math.min(spawn.getTileY() / chunkIndex.chunkSize, chunkIndex.chunkRowCount - 1));
+            chunkSpawns.get(getChunk(chunkX, chunkY)).add(spawn);
+        }
+        chunksWaitingToSpawn.clear();
+        for (int chunk = 0; chunk < chunks.length; chunk++) {
+            if (chunks[chunk] != null) {
+                chunksWaitingToSpawn.add(chunk);
+            }
+        }
+    }
+
+    // returns the tile index at a spot on the map (which has to be in bounds), loading its chunk right away if it isn't loaded yet
+    public int getTileIndex(int x, int y) {
+        int chunkX = x / chunkIndex.chunkSize;
+        int chunkY = y / chunkIndex.chunkSize;
+        int[] tileIndexes = chunks[getChunk(chunkX, chunkY)];
+        if (tileIndexes == null) {
+            tileIndexes = loadNow(chunkX, chunkY);
+        }
+        return tileIndexes[x - chunkX * chunkIndex.chunkSize + chunkIndex.getChunkWidth(chunkX) * (y - chunkY * chunkIndex.chunkSize)];
+    }
+
+    // changes the tile index at a spot on the map until its chunk is unloaded
+    public void setTileIndex(int x, int y, int tileIndex) {
+        getTileIndex(x, y);
+        int chunkX = x / chunkIndex.chunkSize;
+        int chunkY = y / chunkIndex.chunkSize;
+        chunks[getChunk(chunkX, chunkY)][x - chunkX * chunkIndex.chunkSize + chunkIndex.getChunkWidth(chunkX) * (y - chunkY * chunkIndex.chunkSize)] = tileIndex;
+    }
+
+    // called by the camera at the start of every update cycle
+    // puts in any chunks the loader thread finished, makes sure every chunk the camera can see or update is loaded,
+    // starts loading chunks close to that range in the background, and unloads chunks far away from it
+    public void update(Camera camera) {
+        LoadedChunk loadedChunk;
+        while ((loadedChunk = loadedChunks.poll()) != null) {
+            isLoading[loadedChunk.chunk] = false;
+            if (chunks[loadedChunk.chunk] == null) {
+                putChunk(loadedChunk.chunk, loadedChunk.tileIndexes);
+                backgroundLoadCount++;
+            }
+        }
+
+        // range of chunks the camera can currently see or update
+        Point tileIndex = camera.getTileIndexByCameraPosition();
+        int updateOffScreenRange = camera.getUpdateOffScreenRange() + 1;
+        int startChunkX = Math.max(0, (tileIndex.x - updateOffScreenRange) / chunkIndex.chunkSize);
+        int startChunkY = Math.max(0, (tileIndex.y - updateOffScreenRange) / chunkIndex.chunkSize);
+        int endChunkX = Math.min(chunkIndex.chunkColumnCount - 1, (tileIndex.x + camera.getWidth() + updateOffScreenRange) / chunkIndex.chunkSize);
+        int endChunkY = Math.min(chunkIndex.chunkRowCount - 1, (tileIndex.y + camera.getHeight() + updateOffScreenRange) / chunkIndex.chunkSize);
+
+        for (int chunkY = 0; chunkY < chunkIndex.chunkRowCount; chunkY++) {
+            for (int chunkX = 0; chunkX < chunkIndex.chunkColumnCount; chunkX++) {
+                int chunk = getChunk(chunkX, chunkY);
+                int distance = Math.max(Math.max(startChunkX - chunkX, chunkX - endChunkX), Math.max(startChunkY - chunkY, chunkY - endChunkY));
+                if (distance <= 0) {
+                    if (chunks[chunk] == null) {
+                        loadNow(chunkX, chunkY);
+                    }
+                } else if (distance <= Config.MAP_STREAMING_LOAD_DISTANCE) {
+                    if (chunks[chunk] == null && !isLoading[chunk]) {
+                        loadInBackground(chunkX, chunkY);
+                    }
+                } else if (distance > Config.MAP_STREAMING_UNLOAD_DISTANCE && chunks[chunk] != null) {
+                    unload(chunk);
+                }
+            }
+        }
+
+        for (int chunk : chunksWaitingToSpawn) {
+            if (chunks[chunk] != null) {
+                for (MapEntitySpawn spawn : chunkSpawns.get(chunk)) {
+                    map.spawn(spawn);
+                }
+            }
+        }
+        chunksWaitingToSpawn.clear();
+    }
+
+    // reads a chunk on the game thread, for when it's needed right now
+    private int[] loadNow(int chunkX, int chunkY) {
+        int[] tileIndexes = MapFile.readChunk(mapFileData, chunkIndex, chunkX, chunkY);
+        putChunk(getChunk(chunkX, chunkY), tileIndexes);
+        immediateLoadCount++;
+        return tileIndexes;
+    }
+
+    private void loadInBackground(int chunkX, int chunkY) {
+        int chunk = getChunk(chunkX, chunkY);
+        isLoading[chunk] = true;
+        getLoader().execute(() -> loadedChunks.add(new LoadedChunk(chunk, MapFile.readChunk(mapFileData, chunkIndex, chunkX, chunkY))));
+    }
+
+    private void putChunk(int chunk, int[] tileIndexes) {
+        chunks[chunk] = tileIndexes;
+        loadedChunkCount++;
+        chunksWaitingToSpawn.add(chunk);
+        invalidateMapChunkCache(chunk);
+    }
+
+    private void unload(int chunk) {
+        for (MapEntitySpawn spawn : chunkSpawns.get(chunk)) {
+            map.despawn(spawn);
+        }
+        chunks[chunk] = null;
+        loadedChunkCount--;
+        unloadCount++;
+        invalidateMapChunkCache(chunk);
+    }
+
+    // throws out the pre-drawn chunks (see MapChunkCache class) that overlap a streamed chunk that was just loaded or unloaded
+    private void invalidateMapChunkCache(int chunk) {
+        int chunkX = chunk % chunkIndex.chunkColumnCount;
+        int chunkY = chunk / chunkIndex.chunkColumnCount;
+        int startX = chunkX * chunkIndex.chunkSize;
+        int startY = chunkY * chunkIndex.chunkSize;
+        int endX = startX + chunkIndex.getChunkWidth(chunkX) - 1;
+        int endY = startY + chunkIndex.getChunkHeight(chunkY) - 1;
+        for (int y = startY; y <= endY + Config.MAP_CHUNK_SIZE - 1; y += Config.MAP_CHUNK_SIZE) {
+            for (int x = startX; x <= endX + Config.MAP_CHUNK_SIZE - 1; x += Config.MAP_CHUNK_SIZE) {
+                map.getMapChunkCache().invalidate(Math.min(x, endX), Math.min(y, endY));
+            }
+        }
+    }
+
+    private int getChunk(int chunkX, int chunkY) {
+        return chunkX + chunkIndex.chunkColumnCount * chunkY;
+    }
+
+    private static synchronized ExecutorService getLoader() {
+        if (loader == null) {
+            loader = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "Map Chunk Streamer");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return loader;
+    }
+
+    public String getStats() {
+        return String.format("%d of %d chunks loaded -- %d loaded in the background, %d loaded right away, %d unloaded",
+                loadedChunkCount, chunks.length, backgroundLoadCount, immediateLoadCount, unloadCount);
+    }
+}
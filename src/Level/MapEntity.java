@@ -52,6 +52,7 @@ public class MapEntity extends GameObject {
         this.amountMovedY = 0;
         this.previousX = startPositionX;
         this.previousY = startPositionY;
+        resetRenderStartPosition();
         updateCurrentFrame();
     }
 
@@ -0,0 +1,30 @@
+package Level;
+
+import java.util.function.Supplier;
+
+// Represents a map entity (enemy, enhanced map tile, or npc) that a map makes when the part of the map it's on is loaded, instead of when the map is made
+// the tile it's on decides which chunk of a streamed map it belongs to (see MapChunkStreamer class) -- for a map that isn't streamed, every spawn is made when the map is set up
+// e.g. new MapEntitySpawn(15, 9, () -> new BugEnemy(getPositionByTileIndex(15, 9), Direction.LEFT))
+public class MapEntitySpawn {
+    private final int tileX, tileY;
+    private final Supplier<MapEntity> createMapEntity;
+
+    public MapEntitySpawn(int tileX, int tileY, Supplier<MapEntity> createMapEntity) {
+        this.tileX = tileX;
+        this.tileY = tileY;
+        this.createMapEntity = createMapEntity;
+    }
+
+    public int getTileX() {
+        return tileX;
+    }
+
+    public int getTileY() {
+        return tileY;
+    }
+
+    // makes a new instance of the map entity, which happens every time its part of the map is loaded
+    public MapEntity spawn() {
+        return createMapEntity.get();
+    }
+}
@@ -0,0 +1,482 @@
+package Level;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/*
+ * Reads and writes map files, which hold a map's width and height along with the tile index of every spot on the map (see Map class)
+ * Map files are stored in a compact binary format: a header (magic number, version, how the tile indexes are stored, how many bytes each tile index takes up, width, height), then the tile indexes
+ * Tile indexes are either stored one after another ("raw"), or as runs of the same tile index ("run length encoded", a run's length followed by its tile index) -- whichever makes the smaller file
+ * Each tile index takes up as few bytes as it can (1, 2 or 4), based on the biggest tile index in the map
+ *
+ * A map file can also be "chunked", which splits the map up into square chunks that are each stored (raw or run length encoded) on their own, with a table of where each chunk is after the header
+ * This lets a really big map be streamed in a chunk at a time as the camera gets close to it, instead of being read in all at once (see MapChunkStreamer class)
+ *
+ * The older text map files (width and height, then every tile index, all separated by whitespace) can still be read, so a map file can be written by hand and converted later (see ConvertMapFiles in the Game package)
+ * The whole file is always read in at once and then parsed from memory
+ */
+public class MapFile {
+    // "HSBM" -- used to tell a binary map file apart from a text one
+    private static final int MAGIC_NUMBER = 0x4853424D;
+
+    // should be bumped whenever the file layout changes
+    private static final short MAP_FILE_VERSION = 1;
+
+    // how the tile indexes are stored after the header
+    private static final byte RAW = 0;
+    private static final byte RUN_LENGTH_ENCODED = 1;
+    private static final byte CHUNKED = 2;
+
+    // size of the header in bytes
+    private static final int HEADER_SIZE = 16;
+
+    // longest run a run length encoded map file can have, since a run's length is stored as an unsigned short
+    private static final int MAX_RUN_LENGTH = 0xFFFF;
+
+    // where each chunk of a chunked map file is in the file, read from its chunk table
+    static class ChunkIndex {
+        final int width, height, indexSize, chunkSize;
+        final int chunkColumnCount, chunkRowCount;
+        final int[] offsets, lengths;
+
+        private ChunkIndex(int width, int height, int indexSize, int chunkSize) {
+            this.width = width;
+            this.height = height;
+            this.indexSize = indexSize;
+            this.chunkSize = chunkSize;
+            this.chunkColumnCount = (width + chunkSize - 1) / chunkSize;
+            this.chunkRowCount = (height + chunkSize - 1) / chunkSize;
+            this.offsets = new int[chunkColumnCount * chunkRowCount];
+            this.lengths = new int[chunkColumnCount * chunkRowCount];
+        }
+
+        // chunks along the right and bottom edges of the map may be smaller than the rest
+        int getChunkWidth(int chunkX) {
+            return Math.min(chunkSize, width - chunkX * chunkSize);
+        }
+
+        int getChunkHeight(int chunkY) {
+            return Math.min(chunkSize, height - chunkY * chunkSize);
+        }
+    }
+
+    private final int width, height;
+    private final int[] tileIndexes;
+
+    public MapFile(int width, int height, int[] tileIndexes) {
+        if (width < 0 || height < 0 || tileIndexes.length != width * height) {
+            throw new RuntimeException("Map file of size " + width + "x" + height + " can't have " + tileIndexes.length + " tile indexes");
+        }
+        this.width = width;
+        this.height = height;
+        this.tileIndexes = tileIndexes;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    // tile index of every spot on the map, in the same order as the map's tile map (x + width * y)
+    public int[] getTileIndexes() {
+        return tileIndexes;
+    }
+
+    // reads the map file at this path
+    public static MapFile read(Path path) {
+        return read(readBytes(path));
+    }
+
+    // reads the whole file at this path into memory with a single bulk read
+    public static ByteBuffer readBytes(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new RuntimeException("Map file " + path + " is too big");
+            }
+            ByteBuffer data = ByteBuffer.allocate((int)size);
+            while (data.hasRemaining() && channel.read(data) >= 0) { }
+            data.flip();
+            return data;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    // memory maps the map file at this path, so only the parts of it that are actually read are brought into memory (used to stream in chunked map files)
+    public static MappedByteBuffer map(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    // reads a map file that's already in memory (e.g. preloaded by the AssetPreloader, or a slice of the AssetPack), in either the binary or text format
+    // a chunked map file has every one of its chunks read in
+    public static MapFile read(ByteBuffer data) {
+        data = data.duplicate();
+        if (data.remaining() >= 4 && data.getInt(data.position()) == MAGIC_NUMBER) {
+            try {
+                return readBinary(data);
+            } catch (BufferUnderflowException e) {
+                throw new RuntimeException("Map file ended before all of its tile indexes were read");
+            }
+        }
+        return readText(data);
+    }
+
+    // returns if the map file at this path is a chunked map file, which only reads its header
+    public static boolean isChunked(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header) >= 0) { }
+            header.flip();
+            return isChunked(header);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    // returns if this is a chunked map file, which can be streamed in a chunk at a time
+    public static boolean isChunked(ByteBuffer data) {
+        return data.remaining() >= HEADER_SIZE && data.getInt(data.position()) == MAGIC_NUMBER && data.get(data.position() + 6) == CHUNKED;
+    }
+
+    private static MapFile readBinary(ByteBuffer data) {
+        if (isChunked(data)) {
+            return readAllChunks(data);
+        }
+        data.getInt();
+        readVersion(data);
+        byte encoding = data.get();
+        int indexSize = data.get();
+        int width = data.getInt();
+        int height = data.getInt();
+        checkSize(width, height);
+
+        int[] tileIndexes = new int[width * height];
+        readTileIndexes(data, encoding, indexSize, tileIndexes);
+        return new MapFile(width, height, tileIndexes);
+    }
+
+    private static void readVersion(ByteBuffer data) {
+        short version = data.getShort();
+        if (version != MAP_FILE_VERSION) {
+            throw new RuntimeException("Map file version " + version + " is not supported (expected version " + MAP_FILE_VERSION + ")");
+        }
+    }
+
+    private static void checkSize(int width, int height) {
+        if (width < 0 || height < 0 || (long)width * height > Integer.MAX_VALUE) {
+            throw new RuntimeException("Map file has an invalid size of " + width + "x" + height);
+        }
+    }
+
+    // reads tile indexes stored raw or run length encoded until the array is full
+    private static void readTileIndexes(ByteBuffer data, byte encoding, int indexSize, int[] tileIndexes) {
+        if (encoding == RAW) {
+            for (int i = 0; i < tileIndexes.length; i++) {
+                tileIndexes[i] = readTileIndex(data, indexSize);
+            }
+        } else if (encoding == RUN_LENGTH_ENCODED) {
+            int i = 0;
+            while (i < tileIndexes.length) {
+                int runLength = data.getShort() & 0xFFFF;
+                int tileIndex = readTileIndex(data, indexSize);
+                if (runLength == 0 || i + runLength > tileIndexes.length) {
+                    throw new RuntimeException("Map file has an invalid run of " + runLength + " tiles");
+                }
+                for (int runEnd = i + runLength; i < runEnd; i++) {
+                    tileIndexes[i] = tileIndex;
+                }
+            }
+        } else {
+            throw new RuntimeException("Map file has an unknown encoding " + encoding);
+        }
+    }
+
+    private static int readTileIndex(ByteBuffer data, int indexSize) {
+        switch (indexSize) {
+            case 1:
+                return data.get();
+            case 2:
+                return data.getShort();
+            case 4:
+                return data.getInt();
+            default:
+                throw new RuntimeException("Map file has an invalid tile index size of " + indexSize + " bytes");
+        }
+    }
+
+    // reads the header and chunk table of a chunked map file
+    static ChunkIndex readChunkIndex(ByteBuffer data) {
+        data = data.duplicate();
+        try {
+            if (data.getInt() != MAGIC_NUMBER) {
+                throw new RuntimeException("Map file is not a binary map file");
+            }
+            readVersion(data);
+            if (data.get() != CHUNKED) {
+                throw new RuntimeException("Map file is not a chunked map file");
+            }
+            int indexSize = data.get();
+            int width = data.getInt();
+            int height = data.getInt();
+            checkSize(width, height);
+            int chunkSize = data.getInt();
+            if (chunkSize <= 0) {
+                throw new RuntimeException("Map file has an invalid chunk size of " + chunkSize);
+            }
+
+            ChunkIndex chunkIndex = new ChunkIndex(width, height, indexSize, chunkSize);
+            for (int i = 0; i < chunkIndex.offsets.length; i++) {
+                chunkIndex.offsets[i] = data.getInt();
+                chunkIndex.lengths[i] = data.getInt();
+            }
+            return chunkIndex;
+        } catch (BufferUnderflowException e) {
+            throw new RuntimeException("Map file ended before its chunk table was read");
+        }
+    }
+
+    // reads the tile indexes of one chunk of a chunked map file, in the same order as a tile map (x + chunk width * y)
+    // doesn't change anything about the data it reads from, so chunks can be read on different threads at the same time
+    static int[] readChunk(ByteBuffer data, ChunkIndex chunkIndex, int chunkX, int chunkY) {
+        int chunk = chunkX + chunkIndex.chunkColumnCount * chunkY;
+        ByteBuffer chunkData = data.duplicate();
+        try {
+            chunkData.position(data.position() + chunkIndex.offsets[chunk]);
+            chunkData.limit(chunkData.position() + chunkIndex.lengths[chunk]);
+            int[] tileIndexes = new int[chunkIndex.getChunkWidth(chunkX) * chunkIndex.getChunkHeight(chunkY)];
+            readTileIndexes(chunkData, chunkData.get(), chunkIndex.indexSize, tileIndexes);
+            return tileIndexes;
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new RuntimeException("Map file chunk (" + chunkX + ", " + chunkY + ") is cut short or out of place");
+        }
+    }
+
+    private static MapFile readAllChunks(ByteBuffer data) {
+        ChunkIndex chunkIndex = readChunkIndex(data);
+        int[] tileIndexes = new int[chunkIndex.width * chunkIndex.height];
+        for (int chunkY = 0; chunkY < chunkIndex.chunkRowCount; chunkY++) {
+            for (int chunkX = 0; chunkX < chunkIndex.chunkColumnCount; chunkX++) {
+                int[] chunkTileIndexes = readChunk(data, chunkIndex, chunkX, chunkY);
+                int chunkWidth = chunkIndex.getChunkWidth(chunkX);
+                for (int y = 0; y < chunkIndex.getChunkHeight(chunkY); y++) {
+                    System.arraycopy(chunkTileIndexes, y * chunkWidth, tileIndexes, chunkX * chunkIndex.chunkSize + chunkIndex.width * (chunkY * chunkIndex.chunkSize + y), chunkWidth);
+                }
+            }
+        }
+        return new MapFile(chunkIndex.width, chunkIndex.height, tileIndexes);
+    }
+
+    // reads the older text format, where every number is separated by whitespace
+    private static MapFile readText(ByteBuffer data) {
+        int width = readTextInt(data);
+        int height = readTextInt(data);
+        checkSize(width, height);
+        int[] tileIndexes = new int[width * height];
+        for (int i = 0; i < tileIndexes.length; i++) {
+            tileIndexes[i] = readTextInt(data);
+        }
+        return new MapFile(width, height, tileIndexes);
+    }
+
+    // skips any whitespace and reads the next (possibly negative) number
+    private static int readTextInt(ByteBuffer data) {
+        byte character = ' ';
+        while (data.hasRemaining() && Character.isWhitespace(character = data.get())) { }
+        if (Character.isWhitespace(character)) {
+            throw new RuntimeException("Map file ended before all of its tile indexes were read");
+        }
+
+        boolean isNegative = character == '-';
+        if (isNegative) {
+            character = data.hasRemaining() ? data.get() : (byte)' ';
+        }
+        if (character < '0' || character > '9') {
+            throw new RuntimeException("Map file has an invalid character '" + (char)character + "' where a number should be");
+        }
+        long value = 0;
+        while (true) {
+            value = value * 10 + (character - '0');
+            if (value > Integer.MAX_VALUE) {
+                throw new RuntimeException("Map file has a number that is too big");
+            }
+            if (!data.hasRemaining()) {
+                break;
+            }
+            character = data.get(data.position());
+            if (character < '0' || character > '9') {
+                break;
+            }
+            data.get();
+        }
+        return (int)(isNegative ? -value : value);
+    }
+
+    // writes this map file to a path in the binary format
+    public void write(Path path) {
+        writeBytes(path, toBytes());
+    }
+
+    // writes this map file to a path in the chunked binary format, split into chunks that are chunkSize tiles wide and tall
+    public void writeChunked(Path path, int chunkSize) {
+        writeBytes(path, toChunkedBytes(chunkSize));
+    }
+
+    // writes to a temporary file first and then moves it into place, so a game that's hot reloading it never reads a half written map file
+    private static void writeBytes(Path path, ByteBuffer data) {
+        Path tempFile = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (data.hasRemaining()) {
+                    channel.write(data);
+                }
+            }
+            Files.move(tempFile, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    // returns this map file in the binary format, run length encoded if that makes it smaller
+    public ByteBuffer toBytes() {
+        int indexSize = getIndexSize(tileIndexes);
+        byte encoding = getSmallestEncoding(tileIndexes, indexSize);
+
+        ByteBuffer data = ByteBuffer.allocate(HEADER_SIZE + getEncodedSize(tileIndexes, indexSize, encoding));
+        putHeader(data, encoding, indexSize);
+        putTileIndexes(data, tileIndexes, indexSize, encoding);
+        data.flip();
+        return data;
+    }
+
+    // returns this map file in the chunked binary format -- each chunk is run length encoded on its own if that makes it smaller
+    public ByteBuffer toChunkedBytes(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new RuntimeException("Chunk size has to be greater than 0");
+        }
+        int indexSize = getIndexSize(tileIndexes);
+        ChunkIndex chunkIndex = new ChunkIndex(width, height, indexSize, chunkSize);
+        int[][] chunks = new int[chunkIndex.offsets.length][];
+        byte[] encodings = new byte[chunks.length];
+        long offset = HEADER_SIZE + 4 + chunks.length * 8L;
+        for (int chunkY = 0; chunkY < chunkIndex.chunkRowCount; chunkY++) {
+            for (int chunkX = 0; chunkX < chunkIndex.chunkColumnCount; chunkX++) {
+                int chunk = chunkX + chunkIndex.chunkColumnCount * chunkY;
+                int chunkWidth = chunkIndex.getChunkWidth(chunkX);
+                chunks[chunk] = new int[chunkWidth * chunkIndex.getChunkHeight(chunkY)];
+                for (int y = 0; y < chunkIndex.getChunkHeight(chunkY); y++) {
+                    System.arraycopy(tileIndexes, chunkX * chunkSize + width * (chunkY * chunkSize + y), chunks[chunk], y * chunkWidth, chunkWidth);
+                }
+                encodings[chunk] = getSmallestEncoding(chunks[chunk], indexSize);
+                chunkIndex.offsets[chunk] = (int)offset;
+                chunkIndex.lengths[chunk] = 1 + getEncodedSize(chunks[chunk], indexSize, encodings[chunk]);
+                offset += chunkIndex.lengths[chunk];
+                if (offset > Integer.MAX_VALUE) {
+                    throw new RuntimeException("Map file can't be bigger than 2GB");
+                }
+            }
+        }
+
+        ByteBuffer data = ByteBuffer.allocate((int)offset);
+        putHeader(data, CHUNKED, indexSize);
+        data.putInt(chunkSize);
+        for (int i = 0; i < chunks.length; i++) {
+            data.putInt(chunkIndex.offsets[i]);
+            data.putInt(chunkIndex.lengths[i]);
+        }
+        for (int i = 0; i < chunks.length; i++) {
+            data.put(encodings[i]);
+            putTileIndexes(data, chunks[i], indexSize, encodings[i]);
+        }
+        data.flip();
+        return data;
+    }
+
+    private void putHeader(ByteBuffer data, byte encoding, int indexSize) {
+        data.putInt(MAGIC_NUMBER);
+        data.putShort(MAP_FILE_VERSION);
+        data.put(encoding);
+        data.put((byte)indexSize);
+        data.putInt(width);
+        data.putInt(height);
+    }
+
+    private static void putTileIndexes(ByteBuffer data, int[] tileIndexes, int indexSize, byte encoding) {
+        if (encoding == RUN_LENGTH_ENCODED) {
+            int i = 0;
+            while (i < tileIndexes.length) {
+                int runLength = getRunLength(tileIndexes, i);
+                data.putShort((short)runLength);
+                putTileIndex(data, tileIndexes[i], indexSize);
+                i += runLength;
+            }
+        } else {
+            for (int tileIndex : tileIndexes) {
+                putTileIndex(data, tileIndex, indexSize);
+            }
+        }
+    }
+
+    private static void putTileIndex(ByteBuffer data, int tileIndex, int indexSize) {
+        if (indexSize == 1) {
+            data.put((byte)tileIndex);
+        } else if (indexSize == 2) {
+            data.putShort((short)tileIndex);
+        } else {
+            data.putInt(tileIndex);
+        }
+    }
+
+    // fewest bytes every tile index in the map fits in
+    private static int getIndexSize(int[] tileIndexes) {
+        int indexSize = 1;
+        for (int tileIndex : tileIndexes) {
+            if (tileIndex < Short.MIN_VALUE || tileIndex > Short.MAX_VALUE) {
+                return 4;
+            }
+            if (tileIndex < Byte.MIN_VALUE || tileIndex > Byte.MAX_VALUE) {
+                indexSize = 2;
+            }
+        }
+        return indexSize;
+    }
+
+    private static byte getSmallestEncoding(int[] tileIndexes, int indexSize) {
+        return getEncodedSize(tileIndexes, indexSize, RUN_LENGTH_ENCODED) < getEncodedSize(tileIndexes, indexSize, RAW) ? RUN_LENGTH_ENCODED : RAW;
+    }
+
+    // number of bytes the tile indexes take up when stored with this encoding
+    private static int getEncodedSize(int[] tileIndexes, int indexSize, byte encoding) {
+        if (encoding == RAW) {
+            return tileIndexes.length * indexSize;
+        }
+        long size = 0;
+        for (int i = 0; i < tileIndexes.length; i += getRunLength(tileIndexes, i)) {
+            size += 2 + indexSize;
+        }
+        return (int)Math.min(size, Integer.MAX_VALUE);
+    }
+
+    // length of the run of the same tile index starting at this spot
+    private static int getRunLength(int[] tileIndexes, int start) {
+        int end = start + 1;
+        while (end < tileIndexes.length && end - start < MAX_RUN_LENGTH && tileIndexes[end] == tileIndexes[start]) {
+            end++;
+        }
+        return end - start;
+    }
+}
@@ -10,6 +10,7 @@ import java.awt.image.BufferedImage;
 import java.util.HashMap;
 
 // Represents a map tile in a Map's tile map
+// a Map only keeps one map tile for each kind of tile it uses, which is shared by every spot on the map with that kind of tile (see Map class)
 public class MapTile extends MapEntity {
     // this determines a tile's properties, like if it's passable or not
     protected TileType tileType;
@@ -65,10 +66,86 @@ public class MapTile extends MapEntity {
         return tileIndex;
     }
 
+    // returns a copy of this map tile at another location, which shares this map tile's animations instead of copying them
+    public MapTile copyAt(float x, float y) {
+        MapTile mapTile = new MapTile(x, y, animations, currentAnimationName, tileIndex, tileType);
+        mapTile.currentFrameIndex = currentFrameIndex;
+        mapTile.updateCurrentFrame();
+        mapTile.setMap(map);
+        return mapTile;
+    }
+
+    // returns what this map tile's scaled bounds would be if it was at another location
+    // used for a map's shared map tiles, which stay at (0, 0) and are collided with at each spot on the map they're used (see Map class)
+    public Rectangle getScaledBoundsAt(float x, float y) {
+        Rectangle scaledBounds = getScaledBounds();
+        return new Rectangle(x + scaledBounds.getX1() - this.x, y + scaledBounds.getY1() - this.y, scaledBounds.getWidth(), scaledBounds.getHeight());
+    }
+
+    // returns if this map tile ever changes how it looks, which is if any of its animations has more than one frame
+    public boolean isAnimated() {
+        for (Frame[] animation : animations.values()) {
+            if (animation.length > 1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // puts this map tile on whichever frame of its animation it should be on at this point in game time
+    // every map tile with the same animation is on the same frame at the same time, so a map's shared map tiles are animated by this instead of update (see Map class)
+    public void updateFromClock(long timeMillis) {
+        int frameIndex = getFrameIndexAt(getCurrentAnimation(), timeMillis);
+        if (frameIndex != currentFrameIndex) {
+            currentFrameIndex = frameIndex;
+            updateCurrentFrame();
+        }
+    }
+
+    // returns which frame an animation that started at time 0 and has been looping since would be on at this time
+    // a frame with no delay is never moved on from (same as in AnimatedSprite's update), so the animation stops there once it's reached
+    private static int getFrameIndexAt(Frame[] animation, long timeMillis) {
+        long animationLength = 0;
+        int stopFrameIndex = -1;
+        for (int i = 0; i < animation.length; i++) {
+            if (animation[i].getDelay() <= 0) {
+                stopFrameIndex = i;
+                break;
+            }
+            animationLength += animation[i].getDelay();
+        }
+        if (animationLength == 0) {
+            return 0;
+        }
+        // once the frames before a frame with no delay have all played, the animation stays on that frame (even if it's the last one)
+        if (stopFrameIndex >= 0 && timeMillis >= animationLength) {
+            return stopFrameIndex;
+        }
+
+        long animationTime = timeMillis % animationLength;
+        int frameIndex = 0;
+        while (animationTime >= animation[frameIndex].getDelay()) {
+            animationTime -= animation[frameIndex].getDelay();
+            frameIndex++;
+        }
+        return frameIndex;
+    }
+
     public void update() {
         super.update();
     }
 
+    // draws this map tile as if it was at another location, used to draw a map's shared map tiles at each spot on the map they're used (see Map class)
+    public void drawAt(GraphicsHandler graphicsHandler, float x, float y) {
+        Camera camera = map.getCamera();
+        drawImage(graphicsHandler, Math.round(x - camera.getRenderX()), Math.round(y - camera.getRenderY()));
+    }
+
+    // draws this map tile's current frame at an exact spot on whatever is being drawn to, without taking the camera into account (see MapChunkCache class)
+    public void drawImage(GraphicsHandler graphicsHandler, int x, int y) {
+        currentFrame.drawImage(graphicsHandler, x, y);
+    }
+
     public void draw(GraphicsHandler graphicsHandler) {
         super.draw(graphicsHandler);
         //drawBounds(graphicsHandler, new Color(0, 0, 255, 100));
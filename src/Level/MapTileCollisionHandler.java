@@ -1,6 +1,7 @@
 package Level;
 
 import GameObject.GameObject;
+import GameObject.Rectangle;
 import Utils.Direction;
 import Utils.Point;
 
@@ -12,14 +13,19 @@ public class MapTileCollisionHandler {
         float edgeBoundX = direction == Direction.LEFT ? gameObject.getScaledBounds().getX1() : gameObject.getScaledBounds().getX2();
         Point tileIndex = map.getTileIndexByPosition(edgeBoundX, gameObject.getScaledBounds().getY1());
         for (int j = -1; j <= numberOfTilesToCheck + 1; j++) {
-            MapTile mapTile = map.getMapTile(Math.round(tileIndex.x), Math.round(tileIndex.y + j));
-            if (mapTile != null && hasCollidedWithMapTile(gameObject, mapTile, direction)) {
-                if (direction == Direction.RIGHT) {
-                    float boundsDifference = gameObject.getScaledX2() - gameObject.getScaledBoundsX2();
-                    return mapTile.getScaledBoundsX1() - gameObject.getScaledWidth() + boundsDifference;
-                } else if (direction == Direction.LEFT) {
-                    float boundsDifference = gameObject.getScaledBoundsX1() - gameObject.getX();
-                    return mapTile.getScaledBoundsX2() - boundsDifference;
+            int tileX = Math.round(tileIndex.x);
+            int tileY = Math.round(tileIndex.y + j);
+            MapTile mapTile = map.getSharedMapTile(tileX, tileY);
+            if (mapTile != null) {
+                Rectangle mapTileBounds = getMapTileBounds(map, mapTile, tileX, tileY);
+                if (hasCollidedWithMapTile(gameObject, mapTile.getTileType(), mapTileBounds, direction)) {
+                    if (direction == Direction.RIGHT) {
+                        float boundsDifference = gameObject.getScaledX2() - gameObject.getScaledBoundsX2();
+                        return mapTileBounds.getX1() - gameObject.getScaledWidth() + boundsDifference;
+                    } else if (direction == Direction.LEFT) {
+                        float boundsDifference = gameObject.getScaledBoundsX1() - gameObject.getX();
+                        return mapTileBounds.getX2() - boundsDifference;
+                    }
                 }
             }
         }
@@ -42,14 +48,19 @@ public class MapTileCollisionHandler {
         float edgeBoundY = direction == Direction.UP ? gameObject.getScaledBounds().getY() : gameObject.getScaledBounds().getY2();
         Point tileIndex = map.getTileIndexByPosition(gameObject.getScaledBounds().getX1(), edgeBoundY);
         for (int j = -1; j <= numberOfTilesToCheck + 1; j++) {
-            MapTile mapTile = map.getMapTile(Math.round(tileIndex.x) + j, Math.round(tileIndex.y));
-            if (mapTile != null && hasCollidedWithMapTile(gameObject, mapTile, direction)) {
-                if (direction == Direction.DOWN) {
-                    float boundsDifference = gameObject.getScaledY2() - gameObject.getScaledBoundsY2();
-                    return mapTile.getScaledBoundsY1() - gameObject.getScaledHeight() + boundsDifference;
-                } else if (direction == Direction.UP) {
-                    float boundsDifference = gameObject.getScaledBoundsY1() - gameObject.getY();
-                    return mapTile.getScaledBoundsY2() - boundsDifference;
+            int tileX = Math.round(tileIndex.x) + j;
+            int tileY = Math.round(tileIndex.y);
+            MapTile mapTile = map.getSharedMapTile(tileX, tileY);
+            if (mapTile != null) {
+                Rectangle mapTileBounds = getMapTileBounds(map, mapTile, tileX, tileY);
+                if (hasCollidedWithMapTile(gameObject, mapTile.getTileType(), mapTileBounds, direction)) {
+                    if (direction == Direction.DOWN) {
+                        float boundsDifference = gameObject.getScaledY2() - gameObject.getScaledBoundsY2();
+                        return mapTileBounds.getY1() - gameObject.getScaledHeight() + boundsDifference;
+                    } else if (direction == Direction.UP) {
+                        float boundsDifference = gameObject.getScaledBoundsY1() - gameObject.getY();
+                        return mapTileBounds.getY2() - boundsDifference;
+                    }
                 }
             }
         }
@@ -67,6 +78,26 @@ public class MapTileCollisionHandler {
         return 0;
     }
 
+    // scaled bounds of the map tile at a spot in the tile map, from the map's shared map tile for that spot
+    private static Rectangle getMapTileBounds(Map map, MapTile sharedMapTile, int tileX, int tileY) {
+        return sharedMapTile.getScaledBoundsAt(tileX * map.getTileset().getScaledSpriteWidth(), tileY * map.getTileset().getScaledSpriteHeight());
+    }
+
+    // same as below, for a spot in the tile map based on its tile type and scaled bounds
+    private static boolean hasCollidedWithMapTile(GameObject gameObject, TileType tileType, Rectangle mapTileBounds, Direction direction) {
+        switch (tileType) {
+            case PASSABLE:
+                return false;
+            case NOT_PASSABLE:
+                return gameObject.intersects(mapTileBounds);
+            case JUMP_THROUGH_PLATFORM:
+                return direction == Direction.DOWN && gameObject.intersects(mapTileBounds) &&
+                        Math.round(gameObject.getScaledBoundsY2() - 1) == Math.round(mapTileBounds.getY1());
+            default:
+                return false;
+        }
+    }
+
     // based on tile type, perform logic to determine if a collision did occur with an intersecting tile or not
     private static boolean hasCollidedWithMapTile(GameObject gameObject, MapTile mapTile, Direction direction) {
         switch (mapTile.getTileType()) {
@@ -1,14 +1,15 @@
 package Level;
 
+import Engine.GameClock;
 import Engine.GraphicsHandler;
 import Engine.Key;
 import Engine.Keyboard;
+import Engine.ScheduledTask;
 import GameObject.Frame;
 import GameObject.ImageEffect;
 import GameObject.Rectangle;
 import GameObject.SpriteSheet;
 import SpriteFont.SpriteFont;
-import Utils.Stopwatch;
 
 import java.awt.image.BufferedImage;
 import java.util.HashMap;
@@ -18,7 +19,9 @@ public class NPC extends MapEntity {
     protected boolean talkedTo = false;
     protected SpriteFont message;
     protected int talkedToTime;
-    protected Stopwatch timer = new Stopwatch();
+
+    // once this goes off, the npc is no longer considered talked to
+    protected ScheduledTask timer;
 
     public NPC(float x, float y, SpriteSheet spriteSheet, String startingAnimation, int talkedToTime) {
         super(x, y, spriteSheet, startingAnimation);
@@ -74,10 +77,10 @@ public class NPC extends MapEntity {
     public void checkTalkedTo(Player player) {
         if (intersects(player) && Keyboard.isKeyDown(Key.SPACE)) {
             talkedTo = true;
-            timer.setWaitTime(talkedToTime);
-        };
-        if (talkedTo && timer.isTimeUp()) {
-            talkedTo = false;
+            if (timer != null) {
+                timer.cancel();
+            }
+            timer = GameClock.schedule(talkedToTime, () -> talkedTo = false);
         }
     }
 
@@ -1,6 +1,7 @@
 package Level;
  
 // *** CROUCH S BREAKS GAME
+import Engine.GameClock;
 import Engine.Key;
 import Engine.KeyLocker;
 import Engine.Keyboard;
@@ -370,18 +371,18 @@ public abstract class Player extends GameObject {
     public void hurtPlayer(MapEntity mapEntity) {
         if (!isInvincible && levelState != LevelState.PLAYER_DEAD) {
             if (firstCollision) {
-                collisionStartTime = System.currentTimeMillis();
+                collisionStartTime = GameClock.getTimeMillis();
                 firstCollision = false;
                 numOfCollisions = numOfCollisions + 1;
                 numOfLives = numOfLives - 1;
             }
             
-            collisionTime = System.currentTimeMillis() - collisionStartTime;
+            collisionTime = GameClock.getTimeMillis() - collisionStartTime;
             secondsPassed = (collisionTime / 1000);
             if (secondsPassed > 0.25) {
                 numOfCollisions = numOfCollisions + 1;
                 numOfLives = numOfLives - 1;
-                collisionStartTime = System.currentTimeMillis();
+                collisionStartTime = GameClock.getTimeMillis();
             }
             // if map entity is an enemy, kill player on touch
             if (mapEntity instanceof Enemy && numOfCollisions >= 3) {
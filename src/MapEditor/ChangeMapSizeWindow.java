@@ -1,13 +1,13 @@
 package MapEditor;
 
 import Level.Map;
-import Level.MapTile;
 import Utils.Colors;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.util.Arrays;
 
 public class ChangeMapSizeWindow {
     private JDialog changeMapSizeWindow;
@@ -182,15 +182,18 @@ public class ChangeMapSizeWindow {
         TOP, BOTTOM
     }
 
+    // new spots added to the map are given the tileset's default tile (tile index -1)
     public void resizeMapWidth(int newWidth, MapWidthDirection mapWidthDirection) {
         int oldWidth = map.getWidth();
-        MapTile[] mapTilesSizeChange = new MapTile[map.getHeight() * newWidth];
+        int[] mapTileIndexes = map.getMapTileIndexes();
+        int[] mapTileIndexesSizeChange = new int[map.getHeight() * newWidth];
+        Arrays.fill(mapTileIndexesSizeChange, -1);
 
         if (mapWidthDirection == MapWidthDirection.RIGHT) {
             for (int i = 0; i < map.getHeight(); i++) {
                 for (int j = 0; j < oldWidth; j++) {
                     if (j < newWidth) {
-                        mapTilesSizeChange[j + newWidth * i] = map.getMapTiles()[j + oldWidth * i];
+                        mapTileIndexesSizeChange[j + newWidth * i] = mapTileIndexes[j + oldWidth * i];
                     }
                 }
             }
@@ -199,38 +202,28 @@ public class ChangeMapSizeWindow {
             for (int i = 0; i < map.getHeight(); i++) {
                 for (int j = oldWidth - 1; j >= 0; j--) {
                     if (j + difference >= 0) {
-                        MapTile tile = map.getMapTiles()[j + oldWidth * i];
-                        mapTilesSizeChange[j + difference + newWidth * i] = tile;
-                        tile.moveX(map.getTileset().getScaledSpriteWidth() * difference);
+                        mapTileIndexesSizeChange[j + difference + newWidth * i] = mapTileIndexes[j + oldWidth * i];
                     }
                 }
             }
         }
 
-        for (int i = 0; i < map.getHeight(); i++) {
-            for (int j = 0; j < newWidth; j++) {
-                if (mapTilesSizeChange[j + newWidth * i] == null) {
-                    MapTile defaultTile = map.getTileset().getDefaultTile()
-                            .build(j * map.getTileset().getScaledSpriteWidth(), i * map.getTileset().getScaledSpriteHeight());
-                    defaultTile.setMap(map);
-                    mapTilesSizeChange[j + newWidth * i] = defaultTile;
-                }
-            }
-        }
-
-        map.setMapTiles(mapTilesSizeChange);
+        map.setMapTileIndexes(mapTileIndexesSizeChange);
         map.setWidth(newWidth);
     }
 
+    // new spots added to the map are given the tileset's default tile (tile index -1)
     public void resizeMapHeight(int newHeight, MapHeightDirection mapHeightDirection) {
         int oldHeight = map.getHeight();
-        MapTile[] mapTilesSizeChange = new MapTile[newHeight * map.getWidth()];
+        int[] mapTileIndexes = map.getMapTileIndexes();
+        int[] mapTileIndexesSizeChange = new int[newHeight * map.getWidth()];
+        Arrays.fill(mapTileIndexesSizeChange, -1);
 
         if (mapHeightDirection == MapHeightDirection.BOTTOM) {
             for (int i = 0; i < oldHeight; i++) {
                 if (i < newHeight) {
                     for (int j = 0; j < map.getWidth(); j++) {
-                        mapTilesSizeChange[j + map.getWidth() * i] = map.getMapTiles()[j + map.getWidth() * i];
+                        mapTileIndexesSizeChange[j + map.getWidth() * i] = mapTileIndexes[j + map.getWidth() * i];
                     }
                 }
             }
@@ -239,26 +232,13 @@ public class ChangeMapSizeWindow {
             for (int i = oldHeight - 1; i >= 0; i--) {
                 if (i + difference >= 0) {
                     for (int j = 0; j < map.getWidth(); j++) {
-                        MapTile tile = map.getMapTiles()[j + map.getWidth() * i];
-                        mapTilesSizeChange[j + map.getWidth() * (i + difference)] = tile;
-                        tile.moveY(map.getTileset().getScaledSpriteHeight() * difference);
+                        mapTileIndexesSizeChange[j + map.getWidth() * (i + difference)] = mapTileIndexes[j + map.getWidth() * i];
                     }
                 }
             }
         }
 
-        for (int i = 0; i < newHeight; i++) {
-            for (int j = 0; j < map.getWidth(); j++) {
-                if (mapTilesSizeChange[j + map.getWidth() * i] == null) {
-                    MapTile defaultTile = map.getTileset().getDefaultTile()
-                            .build(j * map.getTileset().getScaledSpriteWidth(), i * map.getTileset().getScaledSpriteHeight());
-                    defaultTile.setMap(map);
-                    mapTilesSizeChange[j + map.getWidth() * i] = defaultTile;
-                }
-            }
-        }
-
-        map.setMapTiles(mapTilesSizeChange);
+        map.setMapTileIndexes(mapTileIndexesSizeChange);
         map.setHeight(newHeight);
     }
 }
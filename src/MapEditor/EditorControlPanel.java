@@ -1,15 +1,11 @@
 package MapEditor;
 
-import Engine.Config;
 import Level.Map;
-import Level.MapTile;
 import Utils.Colors;
 
 import javax.swing.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.io.FileWriter;
-import java.io.IOException;
 import java.util.ArrayList;
 
 public class EditorControlPanel extends JPanel {
@@ -94,23 +90,10 @@ public class EditorControlPanel extends JPanel {
 
     public void writeSelectedMapToFile() {
         Map map = getSelectedMap();
-        String fileName = getSelectedMap().getMapFileName();
         try {
-            FileWriter fileWriter = new FileWriter(Config.MAP_FILES_PATH + fileName);
-            fileWriter.write(map.getWidth() + " " + map.getHeight() + "\n");
-            MapTile[] mapTiles = map.getMapTiles();
-            for (int i = 0; i < map.getHeight(); i++) {
-                for (int j = 0; j < map.getWidth(); j++) {
-                    fileWriter.write(String.valueOf(mapTiles[j + map.getWidth() * i].getTileIndex()));
-                    if (j < map.getWidth() - 1) {
-                        fileWriter.write(" ");
-                    } else if (j >= map.getWidth() -1 && i < map.getHeight() - 1) {
-                        fileWriter.write("\n");
-                    }
-                }
-            }
-            fileWriter.close();
-        } catch (IOException ex) {
+            // saved in the binary map file format (see MapFile class)
+            map.writeMapFile();
+        } catch (RuntimeException ex) {
             ex.printStackTrace();
             System.out.println("Unable to save map file! That's really not great!");
         }
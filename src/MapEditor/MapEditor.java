@@ -1,7 +1,14 @@
 package MapEditor;
 
+import Engine.AssetPack;
+import Level.MapChunkStreamer;
+
 public class MapEditor {
     public static void main(String[] args) {
+        // the editor saves to the loose map files, so it always reads from them too instead of from a (possibly out of date) asset pack
+        AssetPack.setEnabled(false);
+        // the editor works on a map's whole tile map at once, so chunked maps are read in all at once instead of streamed
+        MapChunkStreamer.setEnabled(false);
         new EditorWindow();
     }
 }
@@ -2,6 +2,7 @@ package MapEditor;
 
 import Engine.GraphicsHandler;
 import Level.Map;
+import Level.MapChunkCache;
 import Level.MapTile;
 import Utils.Colors;
 
@@ -68,8 +69,17 @@ public class TileBuilder extends JPanel {
     }
 
     public void draw() {
-        for (MapTile tile : map.getMapTiles()) {
-            tile.draw(graphicsHandler);
+        int tileWidth = map.getTileset().getScaledSpriteWidth();
+        int tileHeight = map.getTileset().getScaledSpriteHeight();
+        if (MapChunkCache.isEnabled()) {
+            // only the chunks with a tile that was just placed are drawn again, since placing a tile throws out its chunk
+            map.getMapChunkCache().draw(graphicsHandler, 0, 0, map.getWidth() - 1, map.getHeight() - 1);
+        } else {
+            for (int i = 0; i < map.getHeight(); i++) {
+                for (int j = 0; j < map.getWidth(); j++) {
+                    map.getSharedMapTile(j, i).drawAt(graphicsHandler, j * tileWidth, i * tileHeight);
+                }
+            }
         }
 
         if (hoveredMapTile != null) {
@@ -94,11 +104,7 @@ public class TileBuilder extends JPanel {
     public void tileSelected(Point selectedPoint) {
         int selectedTileIndex = getSelectedTileIndex(selectedPoint);
         if (selectedTileIndex != -1) {
-            MapTile oldMapTile = map.getMapTiles()[selectedTileIndex];
-            MapTile newMapTile =  map.getTileset().getTile(controlPanelHolder.getSelectedTileIndex()).build(oldMapTile.getX(), oldMapTile.getY());
-            newMapTile.setMap(map);
-            map.getMapTiles()[selectedTileIndex] = newMapTile;
-
+            map.setMapTileIndex(selectedTileIndex % map.getWidth(), selectedTileIndex / map.getWidth(), controlPanelHolder.getSelectedTileIndex());
         }
         repaint();
     }
@@ -114,26 +120,22 @@ public class TileBuilder extends JPanel {
     }
 
     protected MapTile getHoveredTile(Point mousePoint) {
-        for (MapTile mapTile : map.getMapTiles()) {
-            if (isPointInTile(mousePoint, mapTile)) {
-                return mapTile;
-            }
+        int hoveredTileIndex = getSelectedTileIndex(mousePoint);
+        if (hoveredTileIndex != -1) {
+            return map.getMapTile(hoveredTileIndex % map.getWidth(), hoveredTileIndex / map.getWidth());
         }
         return null;
     }
 
+    // returns the index in the tile map of the map tile the point is in, or -1 if it isn't in one
     protected int getSelectedTileIndex(Point mousePoint) {
-        MapTile[] mapTiles = map.getMapTiles();
-        for (int i = 0; i < mapTiles.length; i++) {
-            if (isPointInTile(mousePoint, mapTiles[i])) {
-                return i;
-            }
+        int tileWidth = map.getTileset().getScaledSpriteWidth();
+        int tileHeight = map.getTileset().getScaledSpriteHeight();
+        int x = mousePoint.x / tileWidth;
+        int y = mousePoint.y / tileHeight;
+        if (mousePoint.x >= 0 && mousePoint.y >= 0 && x < map.getWidth() && y < map.getHeight()) {
+            return x + map.getWidth() * y;
         }
         return -1;
     }
-
-    protected boolean isPointInTile(Point point, MapTile tile) {
-        return (point.x >= tile.getX() && point.x <= tile.getX() + tile.getScaledWidth() &&
-                point.y >= tile.getY() && point.y <= tile.getY() + tile.getScaledHeight());
-    }
 }
@@ -2,6 +2,7 @@ package Maps;
 
 import Enemies.BugEnemy;
 import Enemies.DinosaurEnemy;
+import Engine.AssetManifest;
 import Engine.ImageLoader;
 import EnhancedMapTiles.EndLevelBox;
 import EnhancedMapTiles.HorizontalMovingPlatform;
@@ -16,10 +17,20 @@ import java.util.ArrayList;
 
 // Represents a test map to be used in a level
 public class TestMap extends Map {
+    // everything this map needs loaded before it can be made (see AssetManifest class)
+    public static final AssetManifest ASSET_MANIFEST = new AssetManifest()
+            .withMapFile("test_map.map")
+            .withManifest(CommonTileset.ASSET_MANIFEST)
+            .withManifest(BugEnemy.ASSET_MANIFEST)
+            .withManifest(DinosaurEnemy.ASSET_MANIFEST)
+            .withImage("GreenPlatform.png")
+            .withManifest(EndLevelBox.ASSET_MANIFEST)
+            .withManifest(Walrus.ASSET_MANIFEST);
+
 	private BugEnemy SecondBug, ThirdBug;
 
     public TestMap() {
-        super("test_map.txt", new CommonTileset(), new Point(1, 11));
+        super("test_map.map", new CommonTileset(), new Point(1, 11));
     }
 
     @Override
@@ -2,6 +2,7 @@ package Maps;
 
 import Enemies.BugEnemy;
 import Enemies.DinosaurEnemy;
+import Engine.AssetManifest;
 import Engine.ImageLoader;
 import EnhancedMapTiles.EndLevelBox;
 import EnhancedMapTiles.HorizontalMovingPlatform;
@@ -16,10 +17,19 @@ import java.util.ArrayList;
 
 // Represents a test map to be used in a level
 public class TestMap2 extends Map {
+    // everything this map needs loaded before it can be made (see AssetManifest class)
+    public static final AssetManifest ASSET_MANIFEST = new AssetManifest()
+            .withMapFile("test_map2.map")
+            .withManifest(CommonTileset.ASSET_MANIFEST)
+            .withManifest(BugEnemy.ASSET_MANIFEST)
+            .withManifest(DinosaurEnemy.ASSET_MANIFEST)
+            .withManifest(EndLevelBox.ASSET_MANIFEST)
+            .withManifest(Walrus.ASSET_MANIFEST);
+
     private BugEnemy SecondBug, ThirdBug;
 
     public TestMap2() {
-        super("test_map2.txt", new CommonTileset(), new Point(1, 22));
+        super("test_map2.map", new CommonTileset(), new Point(1, 22));
     }
 
     @Override
@@ -2,6 +2,7 @@ package Maps;
 
 import Enemies.BugEnemy;
 import Enemies.DinosaurEnemy;
+import Engine.AssetManifest;
 import Engine.ImageLoader;
 import EnhancedMapTiles.EndLevelBox;
 import EnhancedMapTiles.HorizontalMovingPlatform;
@@ -16,9 +17,15 @@ import java.util.ArrayList;
 
 // Represents a test map to be used in a level
 public class TestMap5 extends Map {
+    // everything this map needs loaded before it can be made (see AssetManifest class)
+    public static final AssetManifest ASSET_MANIFEST = new AssetManifest()
+            .withMapFile("test_map5.map")
+            .withManifest(CommonTileset.ASSET_MANIFEST)
+            .withManifest(BugEnemy.ASSET_MANIFEST)
+            .withManifest(EndLevelBox.ASSET_MANIFEST);
 
     public TestMap5() {
-        super("test_map5.txt", new CommonTileset(), new Point(1, 11));
+        super("test_map5.map", new CommonTileset(), new Point(1, 11));
     }
 
     @Override
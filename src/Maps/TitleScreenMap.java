@@ -1,15 +1,20 @@
 package Maps;
 
+import Engine.AssetManifest;
 import Level.Map;
 import Tilesets.CommonTileset;
 import Utils.Point;
 
 // Represents the map that is used as a background for the main menu and credits menu screen
 public class TitleScreenMap extends Map {
+    // everything this map needs loaded before it can be made (see AssetManifest class)
+    public static final AssetManifest ASSET_MANIFEST = new AssetManifest()
+            .withMapFile("title_screen_map.map")
+            .withManifest(CommonTileset.ASSET_MANIFEST);
 
 
     public TitleScreenMap() {
-        super("title_screen_map.txt", new CommonTileset(), new Point(1, 9));
+        super("title_screen_map.map", new CommonTileset(), new Point(1, 9));
     }
 
 }
@@ -1,8 +1,9 @@
 package NPCs;
 
 import Builders.FrameBuilder;
+import Engine.AssetManifest;
 import Engine.GraphicsHandler;
-import Engine.ImageLoader;
+import GameObject.AnimationRegistry;
 import GameObject.Frame;
 import GameObject.ImageEffect;
 import GameObject.SpriteSheet;
@@ -17,9 +18,12 @@ import java.util.HashMap;
 
 // This class is for the walrus NPC
 public class Walrus extends NPC {
+    // everything this npc needs loaded before it can be made (see AssetManifest class)
+    public static final AssetManifest ASSET_MANIFEST = new AssetManifest()
+            .withSpriteSheet("Walrus.png", 24, 24);
 
     public Walrus(Point location, Map map) {
-        super(location.x, location.y, new SpriteSheet(ImageLoader.load("Walrus.png"), 24, 24), "TAIL_DOWN", 5000);
+        super(location.x, location.y, AnimationRegistry.getSpriteSheet("Walrus.png", 24, 24), "TAIL_DOWN", 5000);
     }
 
     @Override
@@ -63,10 +67,10 @@ public class Walrus extends NPC {
     @Override
     public void drawMessage(GraphicsHandler graphicsHandler) {
         // draws a box with a border (think like a speech box)
-        graphicsHandler.drawFilledRectangleWithBorder(Math.round(getCalibratedXLocation() - 2), Math.round(getCalibratedYLocation() - 24), 40, 25, Color.WHITE, Color.BLACK, 2);
+        graphicsHandler.drawFilledRectangleWithBorder(Math.round(getCalibratedRenderXLocation() - 2), Math.round(getCalibratedRenderYLocation() - 24), 40, 25, Color.WHITE, Color.BLACK, 2);
 
         // draws message "Hello" in the above speech box
-        message.setLocation(getCalibratedXLocation() + 2, getCalibratedYLocation() - 8);
+        message.setLocation(getCalibratedRenderXLocation() + 2, getCalibratedRenderYLocation() - 8);
         message.draw(graphicsHandler);
     }
 }
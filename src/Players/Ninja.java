@@ -1,9 +1,10 @@
 package Players;
 
 import Builders.FrameBuilder;
+import Engine.AssetManifest;
 import Engine.GraphicsHandler;
-import Engine.ImageLoader;
 import Engine.Key;
+import GameObject.AnimationRegistry;
 import GameObject.Frame;
 import GameObject.ImageEffect;
 import GameObject.SpriteSheet;
@@ -15,9 +16,12 @@ import java.util.HashMap;
 // This is the class for the Dog player character
 // basically just sets some values for physics and then defines animations
 public class Ninja extends Player {
+    // everything this player needs loaded before it can be made (see AssetManifest class)
+    public static final AssetManifest ASSET_MANIFEST = new AssetManifest()
+            .withSpriteSheet("Ninja.png", 209, 190);
 
     public Ninja(float x, float y) {
-        super(new SpriteSheet(ImageLoader.load("Ninja.png"), 209, 190), x, y, "STAND_RIGHT");
+        super(AnimationRegistry.getSpriteSheet("Ninja.png", 209, 190), x, y, "STAND_RIGHT");
         gravity = .5f;
         terminalVelocityY = 6f;
         jumpHeight = 14.5f;
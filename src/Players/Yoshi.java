@@ -1,9 +1,10 @@
 package Players;
 
 import Builders.FrameBuilder;
+import Engine.AssetManifest;
 import Engine.GraphicsHandler;
-import Engine.ImageLoader;
 import Engine.Key;
+import GameObject.AnimationRegistry;
 import GameObject.Frame;
 import GameObject.ImageEffect;
 import GameObject.SpriteSheet;
@@ -15,9 +16,12 @@ import java.util.HashMap;
 // This is the class for the Dog player character
 // basically just sets some values for physics and then defines animations
 public class Yoshi extends Player {
+    // everything this player needs loaded before it can be made (see AssetManifest class)
+    public static final AssetManifest ASSET_MANIFEST = new AssetManifest()
+            .withSpriteSheet("Yoshi.png", new Color(157, 187, 97), 40, 39);
 
     public Yoshi(float x, float y) {
-        super(new SpriteSheet(ImageLoader.load("Yoshi.png", new Color(157, 187, 97)), 40, 39), x, y, "STAND_RIGHT");
+        super(AnimationRegistry.getSpriteSheet("Yoshi.png", new Color(157, 187, 97), 40, 39), x, y, "STAND_RIGHT");
         gravity = .5f;
         terminalVelocityY = 6f;
         jumpHeight = 14.5f;
@@ -0,0 +1,53 @@
+package Screens;
+
+import Engine.GraphicsHandler;
+import Engine.Screen;
+import Engine.ScreenManager;
+import Game.ScreenCoordinator;
+import SpriteFont.SpriteFont;
+
+import java.awt.*;
+
+// This class is for the loading screen that's shown while the ScreenCoordinator is loading assets in the background
+// it only animates and shows the loading progress, so it stays cheap to update and draw while the assets load
+public class LoadingScreen extends Screen {
+    protected ScreenCoordinator screenCoordinator;
+    protected SpriteFont loadingLabel;
+    protected int updateCount;
+
+    // size of the progress bar
+    private static final int PROGRESS_BAR_WIDTH = 400;
+    private static final int PROGRESS_BAR_HEIGHT = 20;
+
+    public LoadingScreen(ScreenCoordinator screenCoordinator) {
+        this.screenCoordinator = screenCoordinator;
+    }
+
+    @Override
+    public void initialize() {
+        loadingLabel = new SpriteFont("Loading", 340, 270, "Comic Sans", 30, Color.white);
+        updateCount = 0;
+    }
+
+    @Override
+    public void update() {
+        // dots after the loading text cycle from none to three, adding one every 15 update cycles
+        updateCount++;
+        int dotCount = (updateCount / 15) % 4;
+        loadingLabel.setText("Loading" + "...".substring(0, dotCount));
+    }
+
+    public void draw(GraphicsHandler graphicsHandler) {
+        // paint entire screen black and display loading text with a progress bar under it
+        graphicsHandler.drawFilledRectangle(0, 0, ScreenManager.getScreenWidth(), ScreenManager.getScreenHeight(), Color.black);
+        loadingLabel.draw(graphicsHandler);
+
+        int progressBarX = (ScreenManager.getScreenWidth() - PROGRESS_BAR_WIDTH) / 2;
+        int progressBarY = 300;
+        int progressWidth = Math.round(PROGRESS_BAR_WIDTH * screenCoordinator.getLoadingProgress());
+        if (progressWidth > 0) {
+            graphicsHandler.drawFilledRectangle(progressBarX, progressBarY, progressWidth, PROGRESS_BAR_HEIGHT, Color.white);
+        }
+        graphicsHandler.drawRectangle(progressBarX, progressBarY, PROGRESS_BAR_WIDTH, PROGRESS_BAR_HEIGHT, Color.white, 2);
+    }
+}
@@ -1,11 +1,19 @@
 package Screens;
  
 import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.function.Supplier;
  
+import Engine.AssetManifest;
 import Engine.Audio;
+import Engine.FrameProfiler;
+import Engine.GameClock;
 import Engine.GraphicsHandler;
 import Engine.ImageLoader;
+import Engine.ProfilerSection;
+import Engine.ScheduledTask;
 import Engine.Screen;
+import Engine.VolatileImageCache;
 import Game.GameState;
 import Game.ScreenCoordinator;
 import Level.Map;
@@ -22,7 +30,6 @@ import Players.Dog;
 import Players.Ninja;
 import Players.Yoshi;
 import SpriteFont.SpriteFont;
-import Utils.Stopwatch;
  
 // This class is for when the platformer game is actually being played
 public class PlayLevelScreen extends Screen implements PlayerListener {
@@ -30,12 +37,15 @@ public class PlayLevelScreen extends Screen implements PlayerListener {
     protected Map map;
     protected Player player;
     protected static PlayLevelScreenState playLevelScreenState;
-    protected Stopwatch screenTimer = new Stopwatch();
+    protected ScheduledTask screenTimer;
     protected LevelClearedScreen levelClearedScreen;
     protected LevelLoseScreen levelLoseScreen;
     protected AvatarOptionsScreen avatar;
     protected SpriteFont livesLabel;
     private SpriteFont heart1Label, heart2Label, heart3Label;
+
+    // heart images are drawn every frame, so they are loaded once up front
+    private final BufferedImage fullHeartImage, emptyHeartImage;
     
     private boolean level1Completed = false;
     private boolean level2Completed = false;
@@ -45,34 +55,68 @@ public class PlayLevelScreen extends Screen implements PlayerListener {
  
     public PlayLevelScreen(ScreenCoordinator screenCoordinator) {
         this.screenCoordinator = screenCoordinator;
+        this.fullHeartImage = ImageLoader.load("fullHeart.png");
+        this.emptyHeartImage = ImageLoader.load("emptyHeart.png");
+        VolatileImageCache.markHot(fullHeartImage);
+        VolatileImageCache.markHot(emptyHeartImage);
     }
  
     public void initialize() {
         // define/setup map
+        // the next map and the player's assets are loaded in the background first, and the level is set up once they're loaded
+        AssetManifest mapAssetManifest;
+        Supplier<Map> createMap;
         if (level5Completed) {
-            this.map = new TestMap();
+            mapAssetManifest = TestMap.ASSET_MANIFEST;
+            createMap = TestMap::new;
             level1Completed = false;
             level2Completed = false;
             level3Completed = false;
             level4Completed = false;
             level5Completed = false;
-            map.reset();
         } else if (level4Completed) {
-            this.map = new TestMap5();
-            map.reset();
+            mapAssetManifest = TestMap5.ASSET_MANIFEST;
+            createMap = TestMap5::new;
         } else if (level3Completed) {
-            this.map = new TestMap4();
-            map.reset();
+            mapAssetManifest = TestMap4.ASSET_MANIFEST;
+            createMap = TestMap4::new;
         } else if (level2Completed) {
-            this.map = new TestMap3();
-            map.reset();
+            mapAssetManifest = TestMap3.ASSET_MANIFEST;
+            createMap = TestMap3::new;
         } else if (level1Completed) {
-            this.map = new TestMap2();
-            map.reset();
+            mapAssetManifest = TestMap2.ASSET_MANIFEST;
+            createMap = TestMap2::new;
         } else {
-            this.map = new TestMap();
-            map.reset();
+            mapAssetManifest = TestMap.ASSET_MANIFEST;
+            createMap = TestMap::new;
         }
+
+        AssetManifest assetManifest = new AssetManifest()
+                .withManifest(mapAssetManifest)
+                .withManifest(getPlayerAssetManifest())
+                .withAudio("BGM.wav")
+                .withAudio("src/win.wav")
+                .withAudio("src/meow.wav");
+        playLevelScreenState = PlayLevelScreenState.LOADING;
+        screenCoordinator.loadAssets(assetManifest, () -> startLevel(createMap.get()));
+    }
+
+    // assets for whichever player avatar was chosen
+    private AssetManifest getPlayerAssetManifest() {
+        if (AvatarOptionsScreen.chosenavatar == 1) {
+            return Dog.ASSET_MANIFEST;
+        } else if (AvatarOptionsScreen.chosenavatar == 2) {
+            return Yoshi.ASSET_MANIFEST;
+        } else if (AvatarOptionsScreen.chosenavatar == 3) {
+            return Ninja.ASSET_MANIFEST;
+        }
+        return Cat.ASSET_MANIFEST;
+    }
+
+    // called once the level's assets are loaded
+    private void startLevel(Map map) {
+        this.map = map;
+        map.reset();
         Audio.playMusic("BGM.wav");
  
         // setup player
@@ -109,37 +153,24 @@ public class PlayLevelScreen extends Screen implements PlayerListener {
         // if level is "running" update player and map to keep game logic for the
         // platformer level going
         case RUNNING:
+            FrameProfiler.begin(ProfilerSection.PLAYER_UPDATE);
             player.update();
+            FrameProfiler.end(ProfilerSection.PLAYER_UPDATE);
             map.update(player);
             break;
         // if level has been completed, bring up level cleared screen
         case LEVEL_COMPLETED:
             levelClearedScreen = new LevelClearedScreen();
             levelClearedScreen.initialize();
-            screenTimer.setWaitTime(2500);
+            // the level cleared screen stays up until the screen timer goes off
+            screenTimer = GameClock.schedule(2500, this::finishLevelWinMessage);
             playLevelScreenState = PlayLevelScreenState.LEVEL_WIN_MESSAGE;
             break;
-        // if level cleared screen is up and the timer is up for how long it should stay
-        // out, go back to main menu
+        // level cleared screen is up, waiting on the screen timer
         case LEVEL_WIN_MESSAGE:
-            if (screenTimer.isTimeUp()) {
-                levelClearedScreen = null;
-                //goBackToMenu();
-                if (level1Completed == false) {
-                    level1Completed = true;
-                } else if (level2Completed == false) {
-                    level2Completed = true;
-                } else if (level3Completed == false) {
-                    level3Completed = true;
-                } else if (level4Completed == false) {
-                    level4Completed = true;
-                } else if (level5Completed == false) {
-                    level5Completed = true;
-                }
-                
-                
-                resetLevel();
-            }
+            break;
+        // level's assets are loading, the ScreenCoordinator shows a loading screen until they're loaded
+        case LOADING:
             break;
         // if player died in level, bring up level lost screen
         case PLAYER_DEAD:
@@ -163,23 +194,25 @@ public class PlayLevelScreen extends Screen implements PlayerListener {
         case PLAYER_DEAD:
             map.draw(graphicsHandler);
             player.draw(graphicsHandler);
+            FrameProfiler.begin(ProfilerSection.DRAW_HUD);
             if (Player.getNumOfLives() >= 3) {
-                graphicsHandler.drawImage(ImageLoader.load("FullHeart.png"), 670, 25,55,55);
-                graphicsHandler.drawImage(ImageLoader.load("FullHeart.png"), 700, 25,55,55);
-                graphicsHandler.drawImage(ImageLoader.load("FullHeart.png"), 730, 25,55,55);
+                graphicsHandler.drawImage(fullHeartImage, 670, 25,55,55);
+                graphicsHandler.drawImage(fullHeartImage, 700, 25,55,55);
+                graphicsHandler.drawImage(fullHeartImage, 730, 25,55,55);
             } else if (Player.getNumOfLives() == 2) {
-                graphicsHandler.drawImage(ImageLoader.load("FullHeart.png"), 670, 25,55,55);
-                graphicsHandler.drawImage(ImageLoader.load("FullHeart.png"), 700, 25,55,55);
-                graphicsHandler.drawImage(ImageLoader.load("EmptyHeart.png"), 730, 25,55,55);
+                graphicsHandler.drawImage(fullHeartImage, 670, 25,55,55);
+                graphicsHandler.drawImage(fullHeartImage, 700, 25,55,55);
+                graphicsHandler.drawImage(emptyHeartImage, 730, 25,55,55);
             } else if (Player.getNumOfLives() == 1) {
-                graphicsHandler.drawImage(ImageLoader.load("FullHeart.png"), 670, 25,55,55);
-                graphicsHandler.drawImage(ImageLoader.load("EmptyHeart.png"), 700, 25,55,55);
-                graphicsHandler.drawImage(ImageLoader.load("EmptyHeart.png"), 730, 25,55,55);
+                graphicsHandler.drawImage(fullHeartImage, 670, 25,55,55);
+                graphicsHandler.drawImage(emptyHeartImage, 700, 25,55,55);
+                graphicsHandler.drawImage(emptyHeartImage, 730, 25,55,55);
             } else if (Player.getNumOfLives() < 1) {
-                graphicsHandler.drawImage(ImageLoader.load("EmptyHeart.png"), 670, 25,55,55);
-                graphicsHandler.drawImage(ImageLoader.load("EmptyHeart.png"), 700, 25,55,55);
-                graphicsHandler.drawImage(ImageLoader.load("EmptyHeart.png"), 730, 25,55,55);
+                graphicsHandler.drawImage(emptyHeartImage, 670, 25,55,55);
+                graphicsHandler.drawImage(emptyHeartImage, 700, 25,55,55);
+                graphicsHandler.drawImage(emptyHeartImage, 730, 25,55,55);
             }
+            FrameProfiler.end(ProfilerSection.DRAW_HUD);
             
             /*livesLabel = new SpriteFont("lives: " + Player.getNumOfLives(), 700, 60, "Comic Sans", 24, Color.white);
             livesLabel.setOutlineColor(Color.black);
@@ -225,6 +258,28 @@ public class PlayLevelScreen extends Screen implements PlayerListener {
     }
  
  
+    // called by the screen timer once the level cleared screen has been up long enough, moves on to the next level
+    private void finishLevelWinMessage() {
+        if (playLevelScreenState != PlayLevelScreenState.LEVEL_WIN_MESSAGE) {
+            return;
+        }
+        levelClearedScreen = null;
+        //goBackToMenu();
+        if (level1Completed == false) {
+            level1Completed = true;
+        } else if (level2Completed == false) {
+            level2Completed = true;
+        } else if (level3Completed == false) {
+            level3Completed = true;
+        } else if (level4Completed == false) {
+            level4Completed = true;
+        } else if (level5Completed == false) {
+            level5Completed = true;
+        }
+
+        resetLevel();
+    }
+
     public void resetLevel() {
         initialize();
     }
@@ -242,7 +297,7 @@ public class PlayLevelScreen extends Screen implements PlayerListener {
  
     // This enum represents the different states this screen can be in
     private enum PlayLevelScreenState {
-        RUNNING, LEVEL_COMPLETED, PLAYER_DEAD, LEVEL_WIN_MESSAGE, LEVEL_LOSE_MESSAGE
+        RUNNING, LEVEL_COMPLETED, PLAYER_DEAD, LEVEL_WIN_MESSAGE, LEVEL_LOSE_MESSAGE, LOADING
     }
  
 }
\ No newline at end of file
@@ -0,0 +1,105 @@
+package SpriteFont;
+
+import Engine.GraphicsHandler;
+
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+
+// A sprite font that draws its text to an image once, and from then on just draws that image to the screen
+// The image is only redrawn when something that changes how the text looks is changed (text, font, colors, outline), which makes it a lot cheaper
+// to draw than a regular sprite font for text that is drawn every frame but rarely changes (such as HUD text)
+public class CachedSpriteFont extends SpriteFont {
+	// text drawn to an image, null if it needs to be redrawn
+	private BufferedImage cachedImage;
+
+	// where the text sits in the cached image -- the image has padding around the text so the outline isn't cut off
+	private int padding;
+	private int textOffsetY;
+
+	public CachedSpriteFont(String text, float x, float y, String fontName, int fontSize, Color color) {
+		super(text, x, y, fontName, fontSize, color);
+	}
+
+	@Override
+	public void setText(String text) {
+		if (!text.equals(this.text)) {
+			super.setText(text);
+			cachedImage = null;
+		}
+	}
+
+	@Override
+	public void setColor(Color color) {
+		super.setColor(color);
+		cachedImage = null;
+	}
+
+	@Override
+	public void setFontName(String fontName) {
+		super.setFontName(fontName);
+		cachedImage = null;
+	}
+
+	@Override
+	public void setFontStyle(int fontStyle) {
+		super.setFontStyle(fontStyle);
+		cachedImage = null;
+	}
+
+	@Override
+	public void setFontSize(int size) {
+		super.setFontSize(size);
+		cachedImage = null;
+	}
+
+	@Override
+	public void setOutlineColor(Color outlineColor) {
+		super.setOutlineColor(outlineColor);
+		cachedImage = null;
+	}
+
+	@Override
+	public void setOutlineThickness(float outlineThickness) {
+		super.setOutlineThickness(outlineThickness);
+		cachedImage = null;
+	}
+
+	@Override
+	public void draw(GraphicsHandler graphicsHandler) {
+		context = graphicsHandler.getFontRenderContext();
+		if (cachedImage == null) {
+			if (text.isEmpty()) {
+				return;
+			}
+			updateCachedImage(context);
+		}
+		graphicsHandler.drawImage(cachedImage, Math.round(x) - padding, Math.round(y) - textOffsetY);
+	}
+
+	// draws the text to a new cached image the same way the regular sprite font would draw it to the screen
+	private void updateCachedImage(FontRenderContext context) {
+		Rectangle2D bounds = font.getStringBounds(text, context);
+		padding = (int)Math.ceil(outlineThickness) + 1;
+
+		// string bounds start at the text's baseline, so the top of the text is at a negative y value
+		textOffsetY = padding + (int)Math.ceil(-bounds.getY());
+		int width = (int)Math.ceil(bounds.getWidth()) + (padding * 2);
+		int height = (int)Math.ceil(bounds.getHeight()) + (padding * 2);
+
+		cachedImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D imageGraphics = cachedImage.createGraphics();
+		try {
+			GraphicsHandler imageGraphicsHandler = new GraphicsHandler();
+			imageGraphicsHandler.setGraphics(imageGraphics);
+			if (outlineColor != null && !outlineColor.equals(color)) {
+				imageGraphicsHandler.drawStringWithOutline(text, padding, textOffsetY, font, color, outlineColor, outlineThickness);
+			} else {
+				imageGraphicsHandler.drawString(text, padding, textOffsetY, font, color);
+			}
+		} finally {
+			imageGraphics.dispose();
+		}
+	}
+}
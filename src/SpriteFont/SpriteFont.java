@@ -18,6 +18,10 @@ public class SpriteFont {
 	protected Color outlineColor;
 	protected float outlineThickness = 1f;
 	protected FontRenderContext context;
+
+	// used to measure text for anything other than drawing it (like checking if a click is on the text)
+	// this way measuring works before the text has ever been drawn (or if it's never drawn, like when replaying input without rendering), and always gives the same result
+	private static final FontRenderContext MEASURE_CONTEXT = new FontRenderContext(null, true, true);
 	
 	private  BufferedImage image;
 	
@@ -117,7 +121,7 @@ public class SpriteFont {
 	}
 	
 	Rectangle2D getBounds(String message) {
-		return font.getStringBounds(message, context);
+		return font.getStringBounds(message, MEASURE_CONTEXT);
 	}
 
 	public double getWidth(String message) {
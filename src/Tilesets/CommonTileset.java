@@ -2,6 +2,7 @@ package Tilesets;
  
 import Builders.FrameBuilder;
 import Builders.MapTileBuilder;
+import Engine.AssetManifest;
 import Engine.ImageLoader;
 import GameObject.Frame;
 import GameObject.ImageEffect;
@@ -12,6 +13,10 @@ import java.util.ArrayList;
  
 // This class represents a "common" tileset of standard tiles defined in the CommonTileset.png file
 public class CommonTileset extends Tileset {
+    // everything this tileset (including the default tile every tileset uses) needs loaded before it can be made (see AssetManifest class)
+    public static final AssetManifest ASSET_MANIFEST = new AssetManifest()
+            .withSpriteSheet("CommonTileset.png", 16, 16)
+            .withImage("DefaultTile.png");
  
     public CommonTileset() {
         super(ImageLoader.load("CommonTileset.png"), 16, 16, 3);
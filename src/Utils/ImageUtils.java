@@ -1,40 +1,117 @@
 package Utils;
 
+import GameObject.ImageEffect;
+
 import java.awt.*;
 import java.awt.image.*;
+import java.util.stream.IntStream;
 
 // This class hold ssome useful image methods that are used when loading in images to the game
 public class ImageUtils {
-	// https://stackoverflow.com/a/665428
+	// images with at least this many pixels have their rows split up across multiple threads when making a color transparent
+	private static final int PARALLEL_PIXEL_THRESHOLD = 256 * 256;
+
+	// lookup tables for multiplying and dividing 8 bit color values by an 8 bit alpha value
+	// these are built the same way Java2D builds its own (AlphaMath.c), so blending here rounds exactly the same way as drawing would
+	private static final byte[] MULTIPLY_TABLE = buildMultiplyTable();
+	private static final byte[] DIVIDE_TABLE = buildDivideTable();
+
 	// changes desired color to be transparent (the chosen color will not be seen in game when drawn)
+	// any pixel with a red, green, and blue value that are all at least as high as the chosen color's counts as that color
+	// this works directly on the image's pixel data in one pass, and gives back the exact same pixels that filtering the image through an RGBImageFilter
+	// and drawing the result onto a new ARGB image (the way this used to be done) would
 	public static BufferedImage transformColorToTransparency(BufferedImage image, Color c1) {
-		// Primitive test, just an example
+		final int width = image.getWidth();
+		final int height = image.getHeight();
+		BufferedImage result = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		final int[] pixels = ((DataBufferInt)result.getRaster().getDataBuffer()).getData();
+		copyPixels(image, result);
+
 		final int r1 = c1.getRed();
 		final int g1 = c1.getGreen();
 		final int b1 = c1.getBlue();
-		final int r2 = 255;
-		final int g2 = 255;
-		final int b2 = 255;
-		ImageFilter filter = new RGBImageFilter() {
-			public final int filterRGB(int x, int y, int rgb) {
-				int r = (rgb & 0xFF0000) >> 16;
-				int g = (rgb & 0xFF00) >> 8;
-				int b = rgb & 0xFF;
-				if (r >= r1 && r <= r2 && g >= g1 && g <= g2 && b >= b1 && b <= b2) {
-					// Set fully transparent but keep color
-					return rgb & 0xFFFFFF;
-				}
-				return rgb;
+		if ((long)width * height >= PARALLEL_PIXEL_THRESHOLD) {
+			IntStream.range(0, height).parallel().forEach(y -> transformRowToTransparency(pixels, y * width, width, r1, g1, b1));
+		} else {
+			transformRowToTransparency(pixels, 0, pixels.length, r1, g1, b1);
+		}
+		return result;
+	}
+
+	// copies an image's pixels into an ARGB image exactly as they are (including their alpha)
+	// getRGB does this one pixel at a time through the image's color model, while drawing with the Src composite lets Java2D use its much faster conversion loops
+	// drawing is only used for the standard 8 bits per channel image types, where it copies pixels exactly -- anything else (e.g. indexed color or 16 bit PNGs) goes through getRGB
+	private static void copyPixels(BufferedImage source, BufferedImage destination) {
+		switch (source.getType()) {
+			case BufferedImage.TYPE_INT_ARGB:
+			case BufferedImage.TYPE_INT_RGB:
+			case BufferedImage.TYPE_INT_BGR:
+			case BufferedImage.TYPE_3BYTE_BGR:
+			case BufferedImage.TYPE_4BYTE_ABGR:
+				Graphics2D g = destination.createGraphics();
+				g.setComposite(AlphaComposite.Src);
+				g.drawImage(source, 0, 0, null);
+				g.dispose();
+				break;
+			default:
+				int[] pixels = ((DataBufferInt)destination.getRaster().getDataBuffer()).getData();
+				source.getRGB(0, 0, source.getWidth(), source.getHeight(), pixels, 0, source.getWidth());
+				break;
+		}
+	}
+
+	// makes the chosen color transparent for count pixels starting at offset
+	private static void transformRowToTransparency(int[] pixels, int offset, int count, int r1, int g1, int b1) {
+		for (int i = offset; i < offset + count; i++) {
+			int rgb = pixels[i];
+			int a = rgb >>> 24;
+			int r = (rgb >> 16) & 0xFF;
+			int g = (rgb >> 8) & 0xFF;
+			int b = rgb & 0xFF;
+			if (a == 0 || (r >= r1 && g >= g1 && b >= b1)) {
+				// fully transparent pixels don't keep their color when drawn, so they end up as all zeros
+				pixels[i] = 0;
+			} else if (a != 0xFF) {
+				// partly transparent pixels get their color rounded the same way drawing them onto an empty image would round them
+				pixels[i] = (a << 24) | (blendColor(a, r) << 16) | (blendColor(a, g) << 8) | blendColor(a, b);
 			}
-		};
+		}
+	}
 
-		ImageProducer ip = new FilteredImageSource(image.getSource(), filter);
-		Image result = Toolkit.getDefaultToolkit().createImage(ip);
-		return convertImageToBufferedImage(result, image.getWidth(), image.getHeight());
+	// multiplies a color value by its alpha and then divides it back out, the way drawing a partly transparent pixel onto an empty image does
+	private static int blendColor(int alpha, int color) {
+		int premultiplied = MULTIPLY_TABLE[(alpha << 8) | color] & 0xFF;
+		return DIVIDE_TABLE[(alpha << 8) | premultiplied] & 0xFF;
+	}
+
+	private static byte[] buildMultiplyTable() {
+		byte[] table = new byte[256 * 256];
+		for (int i = 1; i < 256; i++) {
+			long increment = 0x10101L * i;
+			long value = increment + (1L << 23);
+			for (int j = 1; j < 256; j++) {
+				table[(i << 8) | j] = (byte)(value >> 24);
+				value += increment;
+			}
+		}
+		return table;
+	}
+
+	private static byte[] buildDivideTable() {
+		byte[] table = new byte[256 * 256];
+		for (int i = 1; i < 256; i++) {
+			long increment = ((0xFFL << 24) + (i / 2)) / i;
+			long value = 1L << 23;
+			for (int j = 0; j < 256; j++) {
+				table[(i << 8) | j] = j < i ? (byte)(value >> 24) : (byte)0xFF;
+				value += increment;
+			}
+		}
+		return table;
 	}
 
 	// https://stackoverflow.com/a/665428
-	// converts Image data type to BufferedImage data type -- needed for the transformColorToTransparency method because it returns just an Image and not a BufferedImage
+	// converts Image data type to BufferedImage data type
 	public static BufferedImage convertImageToBufferedImage(Image image, int width, int height) {
 		BufferedImage dest = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
 		Graphics2D g2 = dest.createGraphics();
@@ -55,4 +132,65 @@ public class ImageUtils {
 		g.dispose();
 		return resized;
 	}
+
+	// creates a copy of an image at the given size with an image effect applied to it
+	// this is drawn the same way the GraphicsHandler draws an image at a size with an image effect, so drawing the copy 1:1 looks the same as drawing the original that way
+	public static BufferedImage createVariant(BufferedImage image, int width, int height, ImageEffect imageEffect) {
+		BufferedImage variant = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g = variant.createGraphics();
+		g.setComposite(AlphaComposite.Src);
+		switch (imageEffect) {
+			case NONE:
+				g.drawImage(image, 0, 0, width, height, null);
+				break;
+			case FLIP_HORIZONTAL:
+				g.drawImage(image, width, 0, -width, height, null);
+				break;
+			case FLIP_VERTICAL:
+				g.drawImage(image, 0, height, width, -height, null);
+				break;
+			case FLIP_H_AND_V:
+				g.drawImage(image, width, height, -width, -height, null);
+				break;
+		}
+		g.dispose();
+		return variant;
+	}
+
+	// converts an image to one that matches the screen's pixel format, so Java2D can keep a copy of it in video memory and doesn't have to convert it every time it's drawn
+	// the image is also given the simplest transparency that fits it (OPAQUE if it has no transparent pixels, BITMASK if its pixels are only ever fully see through or not),
+	// since those are quicker to draw than images with partly see through pixels
+	// the image is always copied, even if it already matches the screen's pixel format -- images loaded by the game have had their pixel data worked on directly (see transformColorToTransparency),
+	// and Java2D never keeps a video memory copy of an image whose pixel data has been handed out like that, so only a fresh copy can be sped up
+	// when running headless there's no screen to match, so the image is given back as is
+	public static BufferedImage toCompatibleImage(BufferedImage image) {
+		if (GraphicsEnvironment.isHeadless()) {
+			return image;
+		}
+		GraphicsConfiguration graphicsConfiguration = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+		int transparency = getTransparency(image);
+		BufferedImage compatibleImage = graphicsConfiguration.createCompatibleImage(image.getWidth(), image.getHeight(), transparency);
+		Graphics2D g = compatibleImage.createGraphics();
+		g.setComposite(AlphaComposite.Src);
+		g.drawImage(image, 0, 0, null);
+		g.dispose();
+		return compatibleImage;
+	}
+
+	// works out the simplest transparency an image's pixels need
+	public static int getTransparency(BufferedImage image) {
+		if (image.getType() != BufferedImage.TYPE_INT_ARGB) {
+			return image.getTransparency();
+		}
+		int transparency = Transparency.OPAQUE;
+		for (int pixel : ((DataBufferInt)image.getRaster().getDataBuffer()).getData()) {
+			int alpha = pixel >>> 24;
+			if (alpha == 0) {
+				transparency = Transparency.BITMASK;
+			} else if (alpha != 0xFF) {
+				return Transparency.TRANSLUCENT;
+			}
+		}
+		return transparency;
+	}
 }
@@ -1,19 +1,22 @@
 package Utils;
 
+import Engine.GameClock;
+
 // Class is designed to be told how many milliseconds to wait, and then will tell you when time is up
+// time is read from the GameClock, so a stopwatch does not count down while the game is paused
 public class Stopwatch {
-    private long beforeTime = System.currentTimeMillis();
+    private long beforeTime = GameClock.getTimeMillis();
     private int millisecondsToWait = 0;
 
     // tell stopwatch how many milliseconds to "time"
     public void setWaitTime(int millisecondsToWait) {
         this.millisecondsToWait = millisecondsToWait;
-        beforeTime = System.currentTimeMillis();
+        beforeTime = GameClock.getTimeMillis();
     }
 
     // will return true or false based on if the "time" is up (a specified number of milliseconds have passed)
     public boolean isTimeUp() {
-        return System.currentTimeMillis() - beforeTime > millisecondsToWait;
+        return GameClock.getTimeMillis() - beforeTime > millisecondsToWait;
     }
 
     // reset timer to wait again for specified number of milliseconds